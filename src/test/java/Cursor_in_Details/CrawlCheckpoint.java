@@ -0,0 +1,213 @@
+package Cursor_in_Details;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Append-only crawl log on local disk: every queued page, every finished page
+ * (with the visitor's short result) and every failure (with its error) is one
+ * line. Workers only hand lines to a queue; a
+ * background thread appends and flushes them, so writing never stalls a
+ * crawl. After a crash the log is replayed to rebuild the frontier and skip the
+ * pages that were already done. Failed pages are tried again, up to
+ * MAX_ATTEMPTS failures per page over all runs of the log.
+ */
+class CrawlCheckpoint implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(CrawlCheckpoint.class.getName());
+
+	// Checkpoints are written to <qa.cacheDir>/crawl/<host>.log unless
+	// -Dqa.crawlCheckpoint=false; -Dqa.resume=true continues the last crawl of the host
+	static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("qa.crawlCheckpoint", "true"));
+	static final boolean RESUME = Boolean.getBoolean("qa.resume");
+	// Failures after which a resumed crawl no longer retries a page; -Dqa.crawlMaxAttempts=N
+	static final int MAX_ATTEMPTS = Integer.getInteger("qa.crawlMaxAttempts", 3);
+	private static final long FLUSH_INTERVAL_MS = 1000;
+
+	private static final String QUEUED = "Q";
+	private static final String DONE = "D";
+	private static final String FAILED = "F";
+	private static final String END = "";
+
+	/**
+	 * Crawl state replayed from a checkpoint
+	 */
+	static class State {
+		// Page -> depth, in the order the pages were queued
+		final Map<String, Integer> queued = new LinkedHashMap<>();
+		// Finished page -> its result
+		final Map<String, String> done = new LinkedHashMap<>();
+		// Page -> last error, and how often the page failed
+		final Map<String, String> failed = new LinkedHashMap<>();
+		final Map<String, Integer> failures = new HashMap<>();
+
+		/**
+		 * Whether a resumed crawl should leave the page alone: it is done, or
+		 * failed MAX_ATTEMPTS times
+		 */
+		boolean finished(String url) {
+			return done.containsKey(url) || failures.getOrDefault(url, 0) >= MAX_ATTEMPTS;
+		}
+	}
+
+	private final Path file;
+	private final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+	private final Thread writerThread;
+	private volatile boolean closed = false;
+
+	private CrawlCheckpoint(Path file, boolean append) throws IOException {
+		this.file = file;
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		boolean cutOff = append && endsInPartialLine(file);
+		BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		if (cutOff) {
+			// Start new records on their own line after a crash mid-write
+			writer.newLine();
+		}
+		writerThread = new Thread(() -> writeLoop(writer), "crawl-checkpoint");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * The checkpoint of the host's crawl, null when checkpoints are disabled or
+	 * the file cannot be opened. With RESUME the existing log is kept and
+	 * appended to; otherwise a new crawl starts an empty log.
+	 */
+	static CrawlCheckpoint open(String host) {
+		if (!ENABLED) {
+			return null;
+		}
+		Path file = Paths.get(SpellCheckCache.CACHE_DIR, "crawl", host.replaceAll("[^A-Za-z0-9.-]", "_") + ".log");
+		try {
+			return new CrawlCheckpoint(file, RESUME);
+		} catch (IOException e) {
+			LOGGER.warning("Could not open crawl checkpoint " + file + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Replay the log written so far. A line cut off by a crash is ignored.
+	 */
+	State load() {
+		State state = new State();
+		if (!Files.exists(file)) {
+			return state;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", -1);
+				if (fields.length != 4 || !fields[3].equals(END)) {
+					continue;
+				}
+				if (QUEUED.equals(fields[0])) {
+					try {
+						state.queued.putIfAbsent(fields[1], Integer.parseInt(fields[2]));
+					} catch (NumberFormatException e) {
+						LOGGER.fine("Ignoring corrupt checkpoint line: " + line);
+					}
+				} else if (DONE.equals(fields[0])) {
+					state.done.put(fields[1], fields[2]);
+				} else if (FAILED.equals(fields[0])) {
+					state.failed.put(fields[1], fields[2]);
+					state.failures.merge(fields[1], 1, Integer::sum);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warning("Could not read crawl checkpoint " + file + ": " + e.getMessage());
+		}
+		LOGGER.info("Crawl checkpoint " + file + ": " + state.queued.size() + " page(s) queued, "
+				+ state.done.size() + " done, " + state.failed.size() + " failed");
+		return state;
+	}
+
+	void queued(String url, int depth) {
+		append(QUEUED, url, String.valueOf(depth));
+	}
+
+	void done(String url, String result) {
+		append(DONE, url, result);
+	}
+
+	void failed(String url, String error) {
+		append(FAILED, url, error);
+	}
+
+	/**
+	 * Write what is still queued and stop the writer thread
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void append(String type, String url, String value) {
+		// The trailing empty field marks the line as complete
+		pending.offer(type + "\t" + clean(url) + "\t" + clean(value) + "\t" + END);
+	}
+
+	private void writeLoop(BufferedWriter writer) {
+		List<String> batch = new ArrayList<>();
+		try (BufferedWriter out = writer) {
+			while (!closed || !pending.isEmpty()) {
+				String line = pending.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+				if (line == null) {
+					continue;
+				}
+				batch.add(line);
+				pending.drainTo(batch);
+				for (String l : batch) {
+					out.write(l);
+					out.newLine();
+				}
+				out.flush();
+				batch.clear();
+			}
+		} catch (IOException e) {
+			LOGGER.warning("Crawl checkpoint writes stopped: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static boolean endsInPartialLine(Path file) throws IOException {
+		if (!Files.exists(file) || Files.size(file) == 0) {
+			return false;
+		}
+		try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+			ByteBuffer last = ByteBuffer.allocate(1);
+			channel.position(channel.size() - 1);
+			channel.read(last);
+			return last.get(0) != '\n';
+		}
+	}
+
+	private static String clean(String value) {
+		return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+	}
+}
@@ -0,0 +1,289 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.Color;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import Cursor_in_Details.StyleGuide_ValidatorQA.ButtonOrLink;
+import Cursor_in_Details.StyleGuide_ValidatorQA.HeadingElement;
+import Cursor_in_Details.StyleGuide_ValidatorQA.OtherElement;
+import Cursor_in_Details.StyleGuide_ValidatorQA.ParagraphStyle;
+
+/**
+ * Headings, paragraphs, buttons, links and images of the loaded page with the
+ * computed styles the report shows. Everything is read by one injected script
+ * in a single executeScript call instead of 6-12 getCssValue/getAttribute
+ * round trips per element.
+ */
+class DomSnapshot {
+
+	private static final Logger LOGGER = Logger.getLogger(DomSnapshot.class.getName());
+
+	private static final String NOT_AVAILABLE = "Not available";
+
+	// Returns { headings: [...], paragraphs: [...], buttons: [...], links: [...], images: [...] }.
+	// Text follows WebElement.getText() (rendered text) with textContent as fallback, the
+	// location matches WebElement.getLocation() so duplicates are detected the same way.
+	static final String SCRIPT = "function text(el) {"
+			+ "  var t = (el.innerText || '').trim();"
+			+ "  return t ? t : (el.textContent || '').trim();"
+			+ "}"
+			+ "function base(el) {"
+			+ "  var r = el.getBoundingClientRect();"
+			+ "  return { text: text(el), id: el.id || '',"
+			+ "    x: Math.round(r.left + window.pageXOffset), y: Math.round(r.top + window.pageYOffset) };"
+			+ "}"
+			+ "function typography(el, o) {"
+			+ "  var s = window.getComputedStyle(el);"
+			+ "  o.fontFamily = s.getPropertyValue('font-family'); o.fontSize = s.getPropertyValue('font-size');"
+			+ "  o.fontWeight = s.getPropertyValue('font-weight'); o.lineHeight = s.getPropertyValue('line-height');"
+			+ "  o.letterSpacing = s.getPropertyValue('letter-spacing'); o.color = s.getPropertyValue('color');"
+			+ "  return s;"
+			+ "}"
+			+ "function control(el) {"
+			+ "  var o = base(el); var s = typography(el, o);"
+			+ "  o.backgroundColor = s.getPropertyValue('background-color');"
+			+ "  o.padding = s.getPropertyValue('padding'); o.borderRadius = s.getPropertyValue('border-radius');"
+			+ "  o.ariaLabel = el.getAttribute('aria-label'); o.title = el.getAttribute('title');"
+			+ "  o.href = el.href !== undefined ? String(el.href) : null;"
+			+ "  var img = el.querySelector('img');"
+			+ "  if (img) { o.hasImg = true; o.imgAlt = img.getAttribute('alt'); o.imgSrc = img.src || img.getAttribute('src'); }"
+			+ "  return o;"
+			+ "}"
+			+ "var result = { headings: [], paragraphs: [], buttons: [], links: [], images: [] };"
+			+ "document.querySelectorAll('h1, h2, h3, h4, h5, h6').forEach(function (el) {"
+			+ "  var o = base(el); o.tag = el.tagName.toLowerCase(); typography(el, o); result.headings.push(o);"
+			+ "});"
+			+ "document.querySelectorAll('p').forEach(function (el) {"
+			+ "  var o = base(el); typography(el, o); result.paragraphs.push(o);"
+			+ "});"
+			+ "document.querySelectorAll('button').forEach(function (el) { result.buttons.push(control(el)); });"
+			+ "document.querySelectorAll('a').forEach(function (el) { result.links.push(control(el)); });"
+			+ "document.querySelectorAll('img').forEach(function (img) {"
+			+ "  var r = img.getBoundingClientRect();"
+			+ "  result.images.push({ src: img.src || img.getAttribute('src'), dataSrc: img.getAttribute('data-src'),"
+			+ "    srcset: img.getAttribute('srcset'), alt: img.alt, title: img.title,"
+			+ "    width: img.getAttribute('width'), height: img.getAttribute('height'),"
+			+ "    renderedWidth: Math.round(r.width), renderedHeight: Math.round(r.height) });"
+			+ "});"
+			+ "return result;";
+
+	final Map<String, List<HeadingElement>> headers;
+	final List<ButtonOrLink> buttons;
+	final List<ParagraphStyle> paragraphs;
+	// null when the images have to be read separately (per-element fallback)
+	final List<OtherElement> images;
+
+	DomSnapshot(Map<String, List<HeadingElement>> headers, List<ButtonOrLink> buttons,
+			List<ParagraphStyle> paragraphs, List<OtherElement> images) {
+		this.headers = headers;
+		this.buttons = buttons;
+		this.paragraphs = paragraphs;
+		this.images = images;
+	}
+
+	/**
+	 * Run the extraction script on the loaded page. Returns null when the script
+	 * fails, so the caller can fall back to reading the elements one by one.
+	 */
+	@SuppressWarnings("unchecked")
+	static DomSnapshot capture(WebDriver driver) {
+		Map<String, Object> result;
+		try {
+			result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT);
+		} catch (Exception e) {
+			LOGGER.warning("Bulk style extraction failed: " + e.getMessage());
+			return null;
+		}
+		return result != null ? fromRecords(result) : null;
+	}
+
+	/**
+	 * Build the snapshot from records shaped like the SCRIPT result. Style keys
+	 * that are missing (e.g. for pages parsed without a browser) become
+	 * "Not available".
+	 */
+	static DomSnapshot fromRecords(Map<String, Object> result) {
+		Map<String, List<HeadingElement>> headers = new HashMap<>();
+		for (int i = 1; i <= 6; i++) {
+			headers.put("h" + i, new ArrayList<>());
+		}
+		for (Map<String, Object> h : records(result, "headings")) {
+			String tag = string(h, "tag");
+			List<HeadingElement> headingElements = headers.get(tag);
+			if (headingElements != null) {
+				headingElements.add(new HeadingElement(tag, normalizedText(h), string(h, "fontFamily"),
+						string(h, "fontSize"), string(h, "fontWeight"), string(h, "lineHeight"),
+						string(h, "letterSpacing"), color(h, "color")));
+			}
+		}
+
+		List<ParagraphStyle> paragraphs = new ArrayList<>();
+		for (Map<String, Object> p : records(result, "paragraphs")) {
+			paragraphs.add(new ParagraphStyle(string(p, "text"), string(p, "fontFamily"), string(p, "fontSize"),
+					string(p, "fontWeight"), string(p, "lineHeight"), string(p, "letterSpacing"), color(p, "color")));
+		}
+
+		List<ButtonOrLink> buttons = new ArrayList<>();
+		Set<String> processedElements = new HashSet<>();
+		for (Map<String, Object> b : records(result, "buttons")) {
+			ButtonOrLink button = toButtonOrLink(b, "button");
+			if (!button.text.isEmpty() && !button.text.contains("Icon") && processedElements.add(elementKey(b))) {
+				buttons.add(button);
+			}
+		}
+		List<Map<String, Object>> links = records(result, "links");
+		LOGGER.info("Total links found: " + links.size());
+		for (Map<String, Object> a : links) {
+			ButtonOrLink link = toButtonOrLink(a, "a");
+			if (!link.text.isEmpty() && processedElements.add(elementKey(a))) {
+				buttons.add(link);
+			}
+		}
+		LOGGER.info("Total <p> tags found: " + paragraphs.size());
+
+		return new DomSnapshot(headers, buttons, paragraphs, toImages(records(result, "images")));
+	}
+
+	/**
+	 * Same rules as extractButtonOrLink: image links are labelled by their alt
+	 * text (or file name), empty controls fall back to the title attribute
+	 */
+	private static ButtonOrLink toButtonOrLink(Map<String, Object> record, String type) {
+		String text = string(record, "text");
+		if (NOT_AVAILABLE.equals(text)) {
+			text = "";
+		}
+		String ariaLabel = nonBlank(record, "ariaLabel");
+		String imgAlt = null;
+		boolean isImageLink = false;
+
+		if (text.isEmpty() || type.equals("a")) {
+			if (Boolean.TRUE.equals(record.get("hasImg"))) {
+				isImageLink = true;
+				String altText = (String) record.get("imgAlt");
+				if (altText != null && !altText.trim().isEmpty()) {
+					text = "ALT: " + altText.trim();
+					imgAlt = altText.trim();
+				} else {
+					String src = (String) record.get("imgSrc");
+					String fileName = src != null && src.contains("/") ? src.substring(src.lastIndexOf("/") + 1) : "img";
+					text = "ALT: " + (fileName.isEmpty() ? "img" : fileName);
+					imgAlt = NOT_AVAILABLE;
+				}
+			} else {
+				String titleAttr = (String) record.get("title");
+				if (titleAttr != null && !titleAttr.isEmpty()) {
+					text = titleAttr.trim();
+				} else if (text.isEmpty()) {
+					text = type.equals("button") ? "Icon Button" : "Icon Link";
+				}
+			}
+		}
+
+		String href = "";
+		if (type.equals("a")) {
+			href = record.get("href") != null ? record.get("href").toString() : NOT_AVAILABLE;
+		}
+		return new ButtonOrLink(type, text, color(record, "backgroundColor"), color(record, "color"),
+				string(record, "fontSize"), string(record, "fontWeight"), string(record, "padding"),
+				string(record, "borderRadius"), string(record, "lineHeight"), string(record, "letterSpacing"), href,
+				ariaLabel, string(record, "fontFamily"), imgAlt, isImageLink);
+	}
+
+	/**
+	 * Same rules as the image part of extractOtherElements: src, then data-src,
+	 * then the first srcset candidate; one entry per distinct source
+	 */
+	private static List<OtherElement> toImages(List<Map<String, Object>> records) {
+		List<OtherElement> images = new ArrayList<>();
+		Set<String> processedSrcs = new HashSet<>();
+		for (Map<String, Object> img : records) {
+			String src = (String) img.get("src");
+			if (src == null || src.isEmpty()) {
+				src = (String) img.get("dataSrc");
+				if (src == null || src.isEmpty()) {
+					String srcset = (String) img.get("srcset");
+					if (srcset != null && !srcset.isEmpty()) {
+						src = srcset.split(",")[0].trim().split("\\s+")[0];
+					}
+				}
+			}
+			if (src == null || src.isEmpty() || !processedSrcs.add(src)) {
+				continue;
+			}
+
+			String alt = img.get("alt") != null ? img.get("alt").toString() : NOT_AVAILABLE;
+			String title = img.get("title") != null ? img.get("title").toString() : NOT_AVAILABLE;
+			String width = dimension(img, "width", "renderedWidth");
+			String height = dimension(img, "height", "renderedHeight");
+			images.add(new OtherElement("img", alt.isEmpty() || alt.equals(NOT_AVAILABLE) ? src : alt, src, alt,
+					title, width, height, "", "", ""));
+		}
+		return images;
+	}
+
+	private static String dimension(Map<String, Object> img, String attribute, String rendered) {
+		Object value = img.get(attribute);
+		if (value != null) {
+			return value.toString();
+		}
+		Object size = img.get(rendered);
+		if (size instanceof Number && ((Number) size).longValue() > 0) {
+			return String.valueOf(((Number) size).longValue());
+		}
+		return NOT_AVAILABLE;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> records(Map<String, Object> result, String key) {
+		Object value = result.get(key);
+		return value instanceof List ? (List<Map<String, Object>>) value : Collections.emptyList();
+	}
+
+	private static String elementKey(Map<String, Object> record) {
+		return record.get("id") + "(" + record.get("x") + ", " + record.get("y") + ")";
+	}
+
+	private static String normalizedText(Map<String, Object> record) {
+		String text = string(record, "text");
+		return text.equals(NOT_AVAILABLE) ? text : text.replaceAll("\\s+", " ");
+	}
+
+	private static String nonBlank(Map<String, Object> record, String key) {
+		Object value = record.get(key);
+		return value != null && !value.toString().trim().isEmpty() ? value.toString().trim() : NOT_AVAILABLE;
+	}
+
+	private static String string(Map<String, Object> record, String key) {
+		Object value = record.get(key);
+		if (value == null || value.toString().isEmpty()) {
+			return NOT_AVAILABLE;
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Colors in the same rgba(...) form WebElement.getCssValue returns
+	 */
+	private static String color(Map<String, Object> record, String key) {
+		String value = string(record, key);
+		if (value.equals(NOT_AVAILABLE)) {
+			return value;
+		}
+		try {
+			return Color.fromString(value).asRgba();
+		} catch (IllegalArgumentException e) {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Fixed-size pool of browser sessions shared by the resolution workers.
+ * Sessions are started lazily on first borrow and reused until the pool is
+ * closed, so a run never pays for more Chrome start-ups than it has workers.
+ */
+class DriverPool implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(DriverPool.class.getName());
+
+	private final int maxSize;
+	private final Supplier<WebDriver> factory;
+	private final BlockingQueue<WebDriver> idleDrivers = new LinkedBlockingQueue<>();
+	private final List<WebDriver> allDrivers = new ArrayList<>();
+	private int createdCount = 0;
+	private boolean closed = false;
+
+	DriverPool(int maxSize, Supplier<WebDriver> factory) {
+		this.maxSize = Math.max(1, maxSize);
+		this.factory = factory;
+	}
+
+	/**
+	 * Take an idle session, start a new one if the pool is not full yet, or wait
+	 * for another worker to release one. While waiting, a slot freed by a dead
+	 * session is filled with a new one.
+	 */
+	WebDriver borrow() throws InterruptedException {
+		while (true) {
+			WebDriver idle = idleDrivers.poll();
+			if (idle != null) {
+				return idle;
+			}
+
+			boolean shouldCreate = false;
+			synchronized (this) {
+				if (closed) {
+					throw new IllegalStateException("Driver pool is closed");
+				}
+				if (createdCount < maxSize) {
+					createdCount++;
+					shouldCreate = true;
+				}
+			}
+
+			if (shouldCreate) {
+				try {
+					WebDriver created = factory.get();
+					synchronized (this) {
+						allDrivers.add(created);
+					}
+					LOGGER.info("Started pooled browser session " + allDrivers.size() + " of " + maxSize);
+					return created;
+				} catch (RuntimeException e) {
+					synchronized (this) {
+						createdCount--;
+					}
+					throw e;
+				}
+			}
+
+			idle = idleDrivers.poll(1, TimeUnit.SECONDS);
+			if (idle != null) {
+				return idle;
+			}
+		}
+	}
+
+	/**
+	 * Hand a session back to the pool so the next waiting worker can use it. A
+	 * session whose browser died (e.g. "session deleted", "unreachable") is
+	 * quit instead, and the next borrow starts a fresh one.
+	 */
+	void release(WebDriver driver) {
+		if (driver == null) {
+			return;
+		}
+		if (isAlive(driver)) {
+			idleDrivers.offer(driver);
+			return;
+		}
+		LOGGER.warning("Pooled browser session is no longer responding - replacing it");
+		synchronized (this) {
+			allDrivers.remove(driver);
+			createdCount--;
+		}
+		StyleGuide_ValidatorQA.quitDriver(driver);
+	}
+
+	/**
+	 * Whether the session still answers a cheap command
+	 */
+	static boolean isAlive(WebDriver driver) {
+		try {
+			driver.getWindowHandle();
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	int size() {
+		return maxSize;
+	}
+
+	@Override
+	public void close() {
+		List<WebDriver> toQuit;
+		synchronized (this) {
+			closed = true;
+			toQuit = new ArrayList<>(allDrivers);
+			allDrivers.clear();
+		}
+		idleDrivers.clear();
+		for (WebDriver driver : toQuit) {
+			StyleGuide_ValidatorQA.quitDriver(driver);
+		}
+		LOGGER.info("Closed " + toQuit.size() + " pooled browser session(s)");
+	}
+}
@@ -0,0 +1,274 @@
+package Cursor_in_Details;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Per-host admission control for outbound link checks. Every host has its own
+ * concurrency limit, raised additively while responses come back quickly and
+ * halved on 429/503, timeouts and latency spikes (AIMD). Requests to a host
+ * are spaced by its robots.txt Crawl-delay and paused for Retry-After. A
+ * circuit breaker stops sending to a host that keeps failing and lets one
+ * trial request through after a cool-down.
+ */
+class HostScheduler {
+
+	private static final Logger LOGGER = Logger.getLogger(HostScheduler.class.getName());
+
+	private static final double INITIAL_LIMIT = 2;
+	// Latency above LATENCY_FACTOR x the host's best latency (and above
+	// SLOW_RESPONSE_MS) counts as congestion
+	private static final double LATENCY_FACTOR = 3;
+	private static final long SLOW_RESPONSE_MS = 1000;
+	private static final long MAX_PAUSE_MS = TimeUnit.SECONDS.toMillis(60);
+	// Breaker opens after this many failures in a row and stays open for BREAKER_OPEN_MS
+	private static final int BREAKER_THRESHOLD = 5;
+	private static final long BREAKER_OPEN_MS = TimeUnit.SECONDS.toMillis(30);
+
+	/**
+	 * A started request. Exactly one of finished/failed must be called.
+	 */
+	interface Permit {
+		/**
+		 * The server answered; retryAfterMillis is the Retry-After header (-1 if absent)
+		 */
+		void finished(int status, long retryAfterMillis);
+
+		/**
+		 * No answer (connection error, timeout)
+		 */
+		void failed();
+	}
+
+	private enum BreakerState {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private static class Waiting {
+		final Consumer<Permit> task;
+		final Runnable rejected;
+
+		Waiting(Consumer<Permit> task, Runnable rejected) {
+			this.task = task;
+			this.rejected = rejected;
+		}
+	}
+
+	private static class Host {
+		final String name;
+		final Queue<Waiting> queue = new ArrayDeque<>();
+		double limit = INITIAL_LIMIT;
+		int active = 0;
+		long crawlDelayMs;
+		boolean ready = false;
+		long nextStartAt = 0;
+		boolean drainScheduled = false;
+		long bestLatencyMs = Long.MAX_VALUE;
+		int consecutiveFailures = 0;
+		BreakerState breaker = BreakerState.CLOSED;
+		long breakerOpenUntil = 0;
+
+		Host(String name) {
+			this.name = name;
+		}
+	}
+
+	private final int maxLimit;
+	private final long minDelayMs;
+	private final Function<String, CompletableFuture<Long>> crawlDelayLookup;
+	private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "host-scheduler");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicInteger slowDowns = new AtomicInteger();
+	private final AtomicInteger breakerTrips = new AtomicInteger();
+	private final AtomicInteger rejections = new AtomicInteger();
+
+	/**
+	 * @param maxLimit          highest concurrency any single host can reach
+	 * @param minDelayMs        minimum gap between request starts to one host
+	 * @param crawlDelayLookup  robots.txt Crawl-delay of a host in ms; requests
+	 *                          to a host wait until it has completed
+	 */
+	HostScheduler(int maxLimit, long minDelayMs, Function<String, CompletableFuture<Long>> crawlDelayLookup) {
+		this.maxLimit = Math.max(1, maxLimit);
+		this.minDelayMs = minDelayMs;
+		this.crawlDelayLookup = crawlDelayLookup;
+	}
+
+	/**
+	 * Run the task when the host has capacity. If the host's circuit is open the
+	 * task is not run and rejected is called instead.
+	 */
+	void submit(String hostName, Consumer<Permit> task, Runnable rejected) {
+		boolean[] created = new boolean[1];
+		Host host = hosts.computeIfAbsent(hostName, name -> {
+			created[0] = true;
+			return new Host(name);
+		});
+		synchronized (host) {
+			host.queue.add(new Waiting(task, rejected));
+		}
+		if (created[0]) {
+			crawlDelayLookup.apply(hostName).whenComplete((delay, error) -> {
+				synchronized (host) {
+					host.crawlDelayMs = Math.max(minDelayMs, delay != null ? delay : 0);
+					host.ready = true;
+				}
+				if (host.crawlDelayMs > 0) {
+					LOGGER.info("Spacing requests to " + hostName + " " + host.crawlDelayMs + " ms apart");
+				}
+				drain(host);
+			});
+		} else {
+			drain(host);
+		}
+	}
+
+	String stats() {
+		return hosts.size() + " host(s), " + slowDowns.get() + " slow-down(s), " + breakerTrips.get()
+				+ " circuit break(s), " + rejections.get() + " request(s) skipped";
+	}
+
+	/**
+	 * Start as many waiting tasks as the host's limit, delay and breaker allow
+	 */
+	private void drain(Host host) {
+		List<Waiting> toRun = new ArrayList<>();
+		List<Waiting> toReject = new ArrayList<>();
+		synchronized (host) {
+			if (!host.ready) {
+				return;
+			}
+			long now = System.currentTimeMillis();
+			if (host.breaker == BreakerState.OPEN) {
+				if (now < host.breakerOpenUntil) {
+					// Fail fast instead of piling more requests onto a failing host
+					toReject.addAll(host.queue);
+					host.queue.clear();
+				} else {
+					host.breaker = BreakerState.HALF_OPEN;
+				}
+			}
+			int allowed = host.breaker == BreakerState.HALF_OPEN ? 1 : (int) Math.floor(host.limit);
+			while (!host.queue.isEmpty() && host.active < allowed) {
+				if (now < host.nextStartAt) {
+					scheduleDrain(host, host.nextStartAt - now);
+					break;
+				}
+				toRun.add(host.queue.poll());
+				host.active++;
+				host.nextStartAt = now + host.crawlDelayMs;
+			}
+		}
+		for (Waiting waiting : toReject) {
+			rejections.incrementAndGet();
+			waiting.rejected.run();
+		}
+		for (Waiting waiting : toRun) {
+			long startedAt = System.currentTimeMillis();
+			waiting.task.accept(new Permit() {
+				@Override
+				public void finished(int status, long retryAfterMillis) {
+					onFinished(host, System.currentTimeMillis() - startedAt, status, retryAfterMillis);
+				}
+
+				@Override
+				public void failed() {
+					onFailed(host);
+				}
+			});
+		}
+	}
+
+	private void scheduleDrain(Host host, long delayMs) {
+		if (!host.drainScheduled) {
+			host.drainScheduled = true;
+			timer.schedule(() -> {
+				synchronized (host) {
+					host.drainScheduled = false;
+				}
+				drain(host);
+			}, delayMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void onFinished(Host host, long latencyMs, int status, long retryAfterMillis) {
+		synchronized (host) {
+			host.active--;
+			if (status == 429 || status == 503) {
+				// The origin asks us to back off: halve the limit and honour Retry-After
+				slowDown(host);
+				long pause = retryAfterMillis >= 0 ? retryAfterMillis : backoff(host.consecutiveFailures + 1);
+				pauseHost(host, pause);
+				recordFailure(host);
+			} else {
+				host.consecutiveFailures = 0;
+				if (host.breaker == BreakerState.HALF_OPEN) {
+					LOGGER.info("Circuit closed again for " + host.name);
+				}
+				host.breaker = BreakerState.CLOSED;
+				host.bestLatencyMs = Math.min(host.bestLatencyMs, latencyMs);
+				if (latencyMs > SLOW_RESPONSE_MS && latencyMs > LATENCY_FACTOR * host.bestLatencyMs) {
+					slowDown(host);
+				} else {
+					host.limit = Math.min(maxLimit, host.limit + 1.0 / host.limit);
+				}
+			}
+		}
+		drain(host);
+	}
+
+	private void onFailed(Host host) {
+		synchronized (host) {
+			host.active--;
+			slowDown(host);
+			recordFailure(host);
+			pauseHost(host, backoff(host.consecutiveFailures));
+		}
+		drain(host);
+	}
+
+	private void recordFailure(Host host) {
+		host.consecutiveFailures++;
+		if (host.breaker == BreakerState.HALF_OPEN || host.consecutiveFailures >= BREAKER_THRESHOLD) {
+			if (host.breaker != BreakerState.OPEN) {
+				breakerTrips.incrementAndGet();
+				LOGGER.warning("Circuit open for " + host.name + " after " + host.consecutiveFailures
+						+ " failure(s) in a row - skipping it for " + BREAKER_OPEN_MS / 1000 + " s");
+			}
+			host.breaker = BreakerState.OPEN;
+			host.breakerOpenUntil = System.currentTimeMillis() + BREAKER_OPEN_MS;
+		}
+	}
+
+	private void slowDown(Host host) {
+		host.limit = Math.max(1, host.limit / 2);
+		slowDowns.incrementAndGet();
+	}
+
+	private void pauseHost(Host host, long pauseMs) {
+		host.nextStartAt = Math.max(host.nextStartAt, System.currentTimeMillis() + Math.min(pauseMs, MAX_PAUSE_MS));
+	}
+
+	/**
+	 * 1 s, 2 s, 4 s ... for consecutive failures, capped at MAX_PAUSE_MS
+	 */
+	private static long backoff(int failures) {
+		return Math.min(MAX_PAUSE_MS, 1000L << Math.min(10, Math.max(0, failures - 1)));
+	}
+}
@@ -0,0 +1,239 @@
+package Cursor_in_Details;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.language.AmericanEnglish;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.spelling.SpellingCheckRule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide pool of spelling-only LanguageTool instances (en-US, every rule
+ * except MORFOLOGIK/HUNSPELL disabled). JLanguageTool is not thread-safe, so
+ * each check borrows its own instance; instances are configured once and then
+ * reused for every chunk, page and resolution of the run.
+ */
+class LanguageToolPool {
+
+	private static final Logger LOGGER = Logger.getLogger(LanguageToolPool.class.getName());
+
+	// One instance per core by default; override with -Dqa.languageToolPoolSize=N
+	static final int POOL_SIZE = Integer.getInteger("qa.languageToolPoolSize",
+			Runtime.getRuntime().availableProcessors());
+
+	// Optional file with one accepted word per line (brand and product names that
+	// the dictionary does not know); -Dqa.spellingAllowList=path/to/words.txt
+	static final String ALLOW_LIST_FILE = System.getProperty("qa.spellingAllowList", "");
+
+	private static LanguageToolPool instance;
+	private static List<String> allowList;
+	private static volatile String enabledRuleIds = "";
+
+	private final int maxSize;
+	private final BlockingQueue<JLanguageTool> idleTools = new LinkedBlockingQueue<>();
+	private int createdCount = 0;
+	private volatile boolean healthy = false;
+
+	private LanguageToolPool(int maxSize) {
+		this.maxSize = Math.max(1, maxSize);
+	}
+
+	/**
+	 * The shared pool. The first call creates and warms up one instance and runs
+	 * the self-test that sets the health flag.
+	 */
+	static synchronized LanguageToolPool get() {
+		if (instance == null) {
+			instance = new LanguageToolPool(POOL_SIZE);
+			instance.warmUp();
+		}
+		return instance;
+	}
+
+	/**
+	 * False when LanguageTool could not be started or did not flag a known
+	 * misspelling during warm-up - spelling results are not trustworthy then
+	 */
+	boolean isHealthy() {
+		return healthy;
+	}
+
+	int size() {
+		return maxSize;
+	}
+
+	/**
+	 * Identifies everything that decides the spelling results: LanguageTool
+	 * version (and with it the dictionary), the enabled rules and the allow-list.
+	 * Cached results are only valid for the same fingerprint.
+	 */
+	String fingerprint() {
+		StringBuilder config = new StringBuilder();
+		config.append("languagetool ").append(JLanguageTool.VERSION).append(' ').append(JLanguageTool.BUILD_DATE)
+				.append('\n');
+		config.append("rules ").append(enabledRuleIds).append('\n');
+		config.append("allow ").append(String.join(",", allowList()));
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(config.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+			for (int i = 0; i < 8; i++) {
+				hex.append(String.format("%02x", hash[i]));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Run the spelling rules on the text with a pooled instance
+	 */
+	List<RuleMatch> check(String text) throws IOException, InterruptedException {
+		JLanguageTool tool = borrow();
+		try {
+			return tool.check(text);
+		} finally {
+			idleTools.offer(tool);
+		}
+	}
+
+	private void warmUp() {
+		long start = System.currentTimeMillis();
+		try {
+			JLanguageTool tool = borrow();
+			try {
+				List<RuleMatch> testMatches = tool.check("This is a testt with a misspelling");
+				healthy = !testMatches.isEmpty();
+			} finally {
+				idleTools.offer(tool);
+			}
+			if (healthy) {
+				LOGGER.info("LanguageTool warmed up in " + (System.currentTimeMillis() - start) + " ms (pool size "
+						+ maxSize + ")");
+			} else {
+				LOGGER.warning("WARNING: LanguageTool test failed - no matches found for known misspelling 'testt'");
+			}
+		} catch (Exception e) {
+			LOGGER.severe("CRITICAL: LanguageTool warm-up failed: " + e.getMessage());
+		}
+	}
+
+	private JLanguageTool borrow() throws InterruptedException {
+		JLanguageTool idle = idleTools.poll();
+		if (idle != null) {
+			return idle;
+		}
+
+		boolean shouldCreate = false;
+		synchronized (this) {
+			if (createdCount < maxSize) {
+				createdCount++;
+				shouldCreate = true;
+			}
+		}
+		if (shouldCreate) {
+			try {
+				return createSpellingOnlyTool();
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					createdCount--;
+				}
+				throw e;
+			}
+		}
+		return idleTools.take();
+	}
+
+	/**
+	 * New en-US instance with every rule except the spelling rules disabled
+	 */
+	private static JLanguageTool createSpellingOnlyTool() {
+		// Ensure XML parser limits are set (fallback in case static initializer didn't run)
+		if (System.getProperty("jdk.xml.totalEntitySizeLimit") == null) {
+			System.setProperty("jdk.xml.totalEntitySizeLimit", "-1");
+			System.setProperty("jdk.xml.entityExpansionLimit", "-1");
+			System.setProperty("jdk.xml.maxElementDepth", "10000");
+		}
+
+		JLanguageTool langTool;
+		try {
+			langTool = new JLanguageTool(new AmericanEnglish());
+		} catch (RuntimeException e) {
+			Throwable cause = e.getCause();
+			if (cause == null || cause.getMessage() == null
+					|| !cause.getMessage().contains("jdk.xml.totalEntitySizeLimit")) {
+				throw e;
+			}
+			LOGGER.severe("CRITICAL: LanguageTool failed due to XML entity size limit. Retrying...");
+			System.setProperty("jdk.xml.totalEntitySizeLimit", "10000000");
+			System.setProperty("jdk.xml.entityExpansionLimit", "10000000");
+			langTool = new JLanguageTool(new AmericanEnglish());
+		}
+
+		int spellingRulesCount = 0;
+		int disabledRulesCount = 0;
+		TreeSet<String> spellingRuleIds = new TreeSet<>();
+		for (Rule rule : langTool.getAllRules()) {
+			String ruleId = rule.getId().toUpperCase();
+			// Only keep MORFOLOGIK rules (the actual spelling checker)
+			if (ruleId.contains("MORFOLOGIK") || ruleId.contains("HUNSPELL")) {
+				spellingRulesCount++;
+				spellingRuleIds.add(rule.getId());
+				if (rule instanceof SpellingCheckRule && !allowList().isEmpty()) {
+					((SpellingCheckRule) rule).addIgnoreTokens(allowList());
+				}
+			} else {
+				try {
+					langTool.disableRule(rule.getId());
+					disabledRulesCount++;
+				} catch (Exception e) {
+					// Some rules might not be disableable, ignore
+					LOGGER.fine("Could not disable rule: " + rule.getId() + " - " + e.getMessage());
+				}
+			}
+		}
+		enabledRuleIds = String.join(",", spellingRuleIds);
+		LOGGER.info("LanguageTool initialized: " + spellingRulesCount + " spelling rules enabled, "
+				+ disabledRulesCount + " non-spelling rules disabled");
+		return langTool;
+	}
+
+	/**
+	 * Words from the allow-list file, sorted and de-duplicated; empty when no
+	 * file is configured
+	 */
+	private static synchronized List<String> allowList() {
+		if (allowList == null) {
+			TreeSet<String> words = new TreeSet<>();
+			if (!ALLOW_LIST_FILE.isEmpty()) {
+				try {
+					for (String line : Files.readAllLines(Paths.get(ALLOW_LIST_FILE), StandardCharsets.UTF_8)) {
+						String word = line.trim();
+						if (!word.isEmpty() && !word.startsWith("#")) {
+							words.add(word);
+						}
+					}
+					LOGGER.info("Loaded " + words.size() + " allow-listed word(s) from " + ALLOW_LIST_FILE);
+				} catch (IOException e) {
+					LOGGER.warning("Could not read spelling allow-list " + ALLOW_LIST_FILE + ": " + e.getMessage());
+				}
+			}
+			allowList = Collections.unmodifiableList(new ArrayList<>(words));
+		}
+		return allowList;
+	}
+}
@@ -0,0 +1,241 @@
+package Cursor_in_Details;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import Cursor_in_Details.LinkStatusChecker.LinkStatus;
+
+/**
+ * Run-wide link status cache in front of LinkStatusChecker, keyed by the
+ * normalized absolute URL. Header and footer links are requested once for all
+ * pages and resolutions; concurrent asks for the same URL share one request.
+ * Entries expire after TTL_MINUTES, and an optional snapshot file carries
+ * them over to the next run. Expired results keep their ETag/Last-Modified
+ * so the re-check is a conditional request.
+ */
+class LinkStatusCache {
+
+	private static final Logger LOGGER = Logger.getLogger(LinkStatusCache.class.getName());
+
+	// How long a checked status is trusted; -Dqa.linkCacheTtlMinutes=N (0 = no caching)
+	static final long TTL_MINUTES = Long.getLong("qa.linkCacheTtlMinutes", 60);
+	// Snapshot file for reuse across runs, e.g. -Dqa.linkCacheFile=.qa-cache/link-status.tsv (off by default)
+	static final String SNAPSHOT_FILE = System.getProperty("qa.linkCacheFile", "");
+
+	private static LinkStatusCache instance;
+
+	private final LinkStatusChecker checker;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	// Expired results with validators, used for the next conditional check of the URL
+	private final Map<String, LinkStatus> expired = new ConcurrentHashMap<>();
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private static class Entry {
+		final CompletableFuture<LinkStatus> status;
+		// Set when the check completes; in-flight entries never expire
+		volatile long checkedAt;
+
+		Entry(CompletableFuture<LinkStatus> status, long checkedAt) {
+			this.status = status;
+			this.checkedAt = checkedAt;
+		}
+
+		boolean isExpired(long now) {
+			return status.isDone() && now - checkedAt > TimeUnit.MINUTES.toMillis(TTL_MINUTES);
+		}
+	}
+
+	private LinkStatusCache(LinkStatusChecker checker) {
+		this.checker = checker;
+	}
+
+	/**
+	 * The cache shared by the run; loads the snapshot file on first use
+	 */
+	static synchronized LinkStatusCache get() {
+		if (instance == null) {
+			instance = new LinkStatusCache(LinkStatusChecker.get());
+			if (!SNAPSHOT_FILE.isEmpty()) {
+				instance.loadSnapshot(Paths.get(SNAPSHOT_FILE));
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Status of the URL: a fresh cached result, the check already in flight for
+	 * it, or a new check
+	 */
+	CompletableFuture<LinkStatus> status(String url) {
+		String key = normalize(url);
+		long now = System.currentTimeMillis();
+		Entry[] created = new Entry[1];
+		LinkStatus[] previous = new LinkStatus[1];
+		Entry entry = entries.compute(key, (k, existing) -> {
+			if (existing != null && !existing.isExpired(now)) {
+				hits.incrementAndGet();
+				return existing;
+			}
+			requests.incrementAndGet();
+			previous[0] = existing != null ? existing.status.getNow(null) : expired.remove(k);
+			created[0] = new Entry(new CompletableFuture<>(), now);
+			return created[0];
+		});
+
+		if (created[0] != null) {
+			// Started outside compute so a check that completes at once cannot touch the map re-entrantly
+			LinkStatus validators = previous[0] != null && previous[0].hasValidators() ? previous[0] : null;
+			checker.check(url, validators).thenAccept(result -> {
+				created[0].checkedAt = System.currentTimeMillis();
+				// Connection failures are not remembered - the next page asks again
+				if (result.status == -1 || TTL_MINUTES <= 0) {
+					entries.remove(key, created[0]);
+				}
+				created[0].status.complete(result);
+			});
+		}
+		return entry.status;
+	}
+
+	String stats() {
+		return requests.get() + " request(s), " + hits.get() + " answered from cache";
+	}
+
+	/**
+	 * Write the completed, unexpired entries to the snapshot file, if one is
+	 * configured
+	 */
+	void saveSnapshot() {
+		if (SNAPSHOT_FILE.isEmpty()) {
+			return;
+		}
+		Path file = Paths.get(SNAPSHOT_FILE);
+		long now = System.currentTimeMillis();
+		int written = 0;
+		try {
+			Path parent = file.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			Path temp = Files.createTempFile(parent, "link-status", ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, Entry> e : entries.entrySet()) {
+					Entry entry = e.getValue();
+					LinkStatus result = entry.status.getNow(null);
+					// Expired results are still worth keeping for their validators
+					if (result == null || result.status == -1 || (entry.isExpired(now) && !result.hasValidators())) {
+						continue;
+					}
+					writeLine(writer, e.getKey(), result, entry.checkedAt);
+					written++;
+				}
+				for (Map.Entry<String, LinkStatus> e : expired.entrySet()) {
+					if (!entries.containsKey(e.getKey())) {
+						writeLine(writer, e.getKey(), e.getValue(), 0);
+						written++;
+					}
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOGGER.info("Saved " + written + " link status(es) to " + file);
+		} catch (IOException e) {
+			LOGGER.warning("Could not save link status snapshot " + file + ": " + e.getMessage());
+		}
+	}
+
+	private static void writeLine(BufferedWriter writer, String key, LinkStatus result, long checkedAt)
+			throws IOException {
+		writer.write(key + "\t" + result.status + "\t" + result.soft404 + "\t" + result.finalUrl + "\t" + checkedAt
+				+ "\t" + field(result.etag) + "\t" + field(result.lastModified) + "\t"
+				+ String.join(" ", result.redirectChain) + "\t" + result.redirectLoop);
+		writer.newLine();
+	}
+
+	private static String field(String value) {
+		return value == null ? "" : value.replace('\t', ' ');
+	}
+
+	private void loadSnapshot(Path file) {
+		if (!Files.exists(file)) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		int loaded = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", -1);
+				// Snapshots written before validators (5 fields) or redirect chains (7 fields) were recorded
+				if (fields.length != 5 && fields.length != 7 && fields.length != 9) {
+					continue;
+				}
+				try {
+					String etag = fields.length >= 7 && !fields[5].isEmpty() ? fields[5] : null;
+					String lastModified = fields.length >= 7 && !fields[6].isEmpty() ? fields[6] : null;
+					LinkStatus result = fields.length == 9 && !fields[7].isEmpty()
+							? new LinkStatus(fields[0], fields[3], Integer.parseInt(fields[1]),
+									Boolean.parseBoolean(fields[2]), etag, lastModified,
+									Arrays.asList(fields[7].split(" ")), Boolean.parseBoolean(fields[8]))
+							: new LinkStatus(fields[0], fields[3], Integer.parseInt(fields[1]),
+									Boolean.parseBoolean(fields[2]), etag, lastModified);
+					Entry entry = new Entry(CompletableFuture.completedFuture(result), Long.parseLong(fields[4]));
+					if (!entry.isExpired(now)) {
+						entries.put(fields[0], entry);
+						loaded++;
+					} else if (result.hasValidators()) {
+						expired.put(fields[0], result);
+					}
+				} catch (NumberFormatException e) {
+					LOGGER.fine("Ignoring corrupt link status entry: " + line);
+				}
+			}
+			LOGGER.info("Loaded " + loaded + " link status(es) from " + file);
+		} catch (IOException e) {
+			LOGGER.warning("Could not read link status snapshot " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Cache key: lower-case scheme and host, no default port, no fragment and
+	 * "/" for an empty path. Query strings are kept as they are.
+	 */
+	static String normalize(String url) {
+		try {
+			URI uri = new URI(url.trim());
+			String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "http";
+			String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+			int port = uri.getPort();
+			if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+				port = -1;
+			}
+			String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+			StringBuilder key = new StringBuilder(scheme).append("://").append(host);
+			if (port != -1) {
+				key.append(':').append(port);
+			}
+			key.append(path);
+			if (uri.getRawQuery() != null) {
+				key.append('?').append(uri.getRawQuery());
+			}
+			return key.toString();
+		} catch (URISyntaxException e) {
+			int hash = url.indexOf('#');
+			return hash >= 0 ? url.substring(0, hash) : url;
+		}
+	}
+}
@@ -0,0 +1,552 @@
+package Cursor_in_Details;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous link status checks on one shared OkHttp client. All checks of
+ * the run share the connection pool (HTTP/2 is negotiated where the server
+ * supports it, so many links to one host travel over one connection) and a DNS
+ * cache. Requests wait in per-host queues (see HostScheduler) and OkHttp's
+ * dispatcher instead of holding a thread each, so thousands of checks can be
+ * in flight at once. Redirects are followed hop by hop so the chain can be
+ * reported and its hops cached (see RedirectCache).
+ */
+class LinkStatusChecker {
+
+	private static final Logger LOGGER = Logger.getLogger(LinkStatusChecker.class.getName());
+
+	// Requests on the wire at once, overall and per host; queued requests beyond
+	// that cost no thread. -Dqa.linkCheckConcurrency=N, -Dqa.linkCheckPerHost=N
+	static final int MAX_REQUESTS = Integer.getInteger("qa.linkCheckConcurrency", 64);
+	static final int MAX_REQUESTS_PER_HOST = Integer.getInteger("qa.linkCheckPerHost", 8);
+	// Minimum gap between requests to one host, and whether robots.txt
+	// Crawl-delay is honoured; -Dqa.linkCheckDelayMs=N, -Dqa.respectCrawlDelay=false
+	static final long MIN_HOST_DELAY_MS = Long.getLong("qa.linkCheckDelayMs", 0);
+	static final boolean RESPECT_CRAWL_DELAY = Boolean
+			.parseBoolean(System.getProperty("qa.respectCrawlDelay", "true"));
+	private static final long MAX_CRAWL_DELAY_MS = TimeUnit.SECONDS.toMillis(10);
+	private static final int ROBOTS_MAX_CHARS = 64 * 1024;
+	private static final int TIMEOUT_SECONDS = 15;
+	private static final int MAX_ATTEMPTS = 3;
+	private static final int MAX_REDIRECTS = 10;
+	private static final long DNS_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+	private static LinkStatusChecker instance;
+
+	private final OkHttpClient client;
+	// Same pool and dispatcher, but lets OkHttp follow redirects (robots.txt only)
+	private final OkHttpClient robotsClient;
+	private final RedirectCache redirects = new RedirectCache();
+	// Decides when each request may go out; retries wait in its per-host queue, no thread sleeps
+	private final HostScheduler scheduler;
+	private final AtomicInteger headRequests = new AtomicInteger();
+	private final AtomicInteger getRequests = new AtomicInteger();
+	private final AtomicInteger notModified = new AtomicInteger();
+	private final AtomicLong bodyBytes = new AtomicLong();
+
+	/**
+	 * Outcome of one link check. status is the final HTTP status after
+	 * redirects, -1 when the server could not be reached. redirectChain runs
+	 * from url to finalUrl; a chain that ends in a loop (or exceeds
+	 * MAX_REDIRECTS hops) keeps the last redirect status.
+	 */
+	static class LinkStatus {
+		final String url;
+		final String finalUrl;
+		final int status;
+		final boolean soft404;
+		// Validators of the final response, sent back on the next check of the URL
+		final String etag;
+		final String lastModified;
+		final List<String> redirectChain;
+		final boolean redirectLoop;
+
+		LinkStatus(String url, String finalUrl, int status, boolean soft404) {
+			this(url, finalUrl, status, soft404, null, null);
+		}
+
+		LinkStatus(String url, String finalUrl, int status, boolean soft404, String etag, String lastModified) {
+			this(url, finalUrl, status, soft404, etag, lastModified,
+					url.equals(finalUrl) ? Collections.singletonList(url) : List.of(url, finalUrl), false);
+		}
+
+		LinkStatus(String url, String finalUrl, int status, boolean soft404, String etag, String lastModified,
+				List<String> redirectChain, boolean redirectLoop) {
+			this.url = url;
+			this.finalUrl = finalUrl;
+			this.status = status;
+			this.soft404 = soft404;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.redirectChain = Collections.unmodifiableList(new ArrayList<>(redirectChain));
+			this.redirectLoop = redirectLoop;
+		}
+
+		/**
+		 * Number of redirects between url and finalUrl
+		 */
+		int redirectCount() {
+			return redirectChain.size() - 1;
+		}
+
+		boolean hasValidators() {
+			return etag != null || lastModified != null;
+		}
+
+		/**
+		 * Status as reported in BrokenLink: soft 404s count as 404
+		 */
+		int reportedStatus() {
+			return soft404 ? 404 : status;
+		}
+
+		boolean isBroken() {
+			return reportedStatus() == 404;
+		}
+	}
+
+	private LinkStatusChecker() {
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(MAX_REQUESTS);
+		dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+		client = new OkHttpClient.Builder()
+				.dispatcher(dispatcher)
+				.connectionPool(new ConnectionPool(MAX_REQUESTS, 5, TimeUnit.MINUTES))
+				.dns(new CachingDns())
+				.connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+				.readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+				.followRedirects(false)
+				.followSslRedirects(false)
+				.build();
+		robotsClient = client.newBuilder().followRedirects(true).followSslRedirects(true).build();
+		scheduler = new HostScheduler(MAX_REQUESTS_PER_HOST, MIN_HOST_DELAY_MS, this::crawlDelay);
+	}
+
+	/**
+	 * The checker shared by every page and resolution of the run
+	 */
+	static synchronized LinkStatusChecker get() {
+		if (instance == null) {
+			instance = new LinkStatusChecker();
+		}
+		return instance;
+	}
+
+	/**
+	 * Check an absolute http(s) URL. The future always completes normally;
+	 * connection failures give status -1.
+	 */
+	CompletableFuture<LinkStatus> check(String url) {
+		return check(url, null);
+	}
+
+	/**
+	 * Check the URL with a HEAD request. HTML-like responses (for the soft-404
+	 * check) and every HEAD error (to confirm it) get a GET, limited to the
+	 * soft-404 byte budget with a Range header. Redirects are followed one hop
+	 * at a time, skipping hops already in the RedirectCache. When a previous
+	 * result with validators is given, the probe of its final URL is
+	 * conditional and a 304 confirms it.
+	 */
+	CompletableFuture<LinkStatus> check(String url, LinkStatus previous) {
+		Trace trace = new Trace(url, previous);
+		probe(trace, url, false);
+		return trace.result;
+	}
+
+	String schedulerStats() {
+		return scheduler.stats();
+	}
+
+	/**
+	 * HEAD/GET counts, 304 confirmations, body bytes read and redirect hops
+	 */
+	String probeStats() {
+		return headRequests.get() + " HEAD, " + getRequests.get() + " GET, " + notModified.get()
+				+ " not modified, " + bodyBytes.get() / 1024 + " KB of bodies read, " + redirects.stats();
+	}
+
+	/**
+	 * State of one check while it follows redirects
+	 */
+	private static class Trace {
+		final String url;
+		final LinkStatus previous;
+		final CompletableFuture<LinkStatus> result = new CompletableFuture<>();
+		final List<String> chain = new ArrayList<>();
+		final Set<String> visited = new HashSet<>();
+
+		Trace(String url, LinkStatus previous) {
+			this.url = url;
+			this.previous = previous;
+			chain.add(url);
+			visited.add(LinkStatusCache.normalize(url));
+		}
+
+		/**
+		 * Add a hop to the chain. False (and the result completed) when the hop
+		 * closes a loop or the chain is too long.
+		 */
+		boolean follow(String target, int status) {
+			boolean loop = !visited.add(LinkStatusCache.normalize(target));
+			chain.add(target);
+			if (loop || chain.size() > MAX_REDIRECTS + 1) {
+				LOGGER.warning((loop ? "Redirect loop" : "More than " + MAX_REDIRECTS + " redirects") + " for URL: "
+						+ url + " - " + String.join(" -> ", chain));
+				result.complete(new LinkStatus(url, target, status, false, null, null, chain, loop));
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * The previous result if its validators apply to this hop
+		 */
+		LinkStatus validatorsFor(String current) {
+			if (previous == null || !previous.hasValidators()
+					|| !LinkStatusCache.normalize(current).equals(LinkStatusCache.normalize(previous.finalUrl))) {
+				return null;
+			}
+			return previous;
+		}
+	}
+
+	private void probe(Trace trace, String start, boolean ranged) {
+		String current = start;
+		// Jump over hops another link already followed
+		for (RedirectCache.Hop hop = redirects.next(current); hop != null; hop = redirects.next(current)) {
+			if (!trace.follow(hop.target, hop.status)) {
+				return;
+			}
+			current = hop.target;
+		}
+		String hopUrl = current;
+		LinkStatus validators = trace.validatorsFor(hopUrl);
+		Request request;
+		try {
+			Request.Builder builder = request(hopUrl, validators);
+			if (ranged) {
+				request = builder.header("Range", "bytes=0-" + (Soft404Detector.BYTE_BUDGET - 1)).get().build();
+			} else {
+				request = builder.head().build();
+			}
+		} catch (IllegalArgumentException e) {
+			LOGGER.warning("Malformed URL: " + hopUrl + " - " + e.getMessage());
+			trace.result.complete(new LinkStatus(trace.url, hopUrl, -1, false));
+			return;
+		}
+		(ranged ? getRequests : headRequests).incrementAndGet();
+		send(request, trace.url, 1, trace.result, response -> {
+			int status = response.code();
+			String location = isRedirect(status) ? response.header("Location") : null;
+			HttpUrl target = location != null ? response.request().url().resolve(location) : null;
+			if (target != null) {
+				redirects.record(hopUrl, target.toString(), status);
+				if (trace.follow(target.toString(), status)) {
+					probe(trace, target.toString(), false);
+				}
+			} else if (status == 304 && validators != null) {
+				trace.result.complete(notModified(trace, validators, response));
+			} else if (!ranged && status >= 400) {
+				// Servers and CDNs often answer HEAD with 403/404/405/5xx while GET works,
+				// so an error is only reported once a GET confirms it
+				probe(trace, hopUrl, true);
+			} else if (!ranged && status == 200 && needsSoft404Check(response)) {
+				probe(trace, hopUrl, true);
+			} else {
+				// A partial answer means the page is there; 416 is an empty body
+				if (ranged && (status == 206 || status == 416)) {
+					status = 200;
+				}
+				boolean soft404 = ranged && status == 200 && isSoft404(response.body());
+				trace.result.complete(finish(trace, response, status, soft404));
+			}
+		});
+	}
+
+	private static boolean isRedirect(int status) {
+		return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+	}
+
+	private static Request.Builder request(String url, LinkStatus previous) {
+		Request.Builder builder = new Request.Builder()
+				.url(url)
+				.header("User-Agent", StaticPage.USER_AGENT)
+				.header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+				.header("Accept-Language", "en-US,en;q=0.5");
+		if (previous != null && previous.status != -1) {
+			if (previous.etag != null) {
+				builder.header("If-None-Match", previous.etag);
+			}
+			if (previous.lastModified != null) {
+				builder.header("If-Modified-Since", previous.lastModified);
+			}
+		}
+		return builder;
+	}
+
+	private LinkStatus notModified(Trace trace, LinkStatus previous, Response response) {
+		notModified.incrementAndGet();
+		String etag = response.header("ETag");
+		String lastModified = response.header("Last-Modified");
+		return new LinkStatus(trace.url, previous.finalUrl, previous.status, previous.soft404,
+				etag != null ? etag : previous.etag, lastModified != null ? lastModified : previous.lastModified,
+				trace.chain, false);
+	}
+
+	private static LinkStatus finish(Trace trace, Response response, int status, boolean soft404) {
+		String finalUrl = response.request().url().toString();
+		if (soft404) {
+			LOGGER.warning("Soft 404 detected (200 with 404 content) for URL: " + finalUrl);
+		} else if (status == 404) {
+			LOGGER.warning("*** 404 NOT FOUND *** - URL: " + finalUrl + " (original: " + trace.url + ")");
+		}
+		return new LinkStatus(trace.url, finalUrl, status, soft404, response.header("ETag"),
+				response.header("Last-Modified"), trace.chain, false);
+	}
+
+	/**
+	 * Only pages that can render an error message need their body read
+	 */
+	private static boolean needsSoft404Check(Response response) {
+		String contentType = response.header("Content-Type");
+		return contentType == null || Soft404Detector.isTextContent(contentType.split(";")[0].trim());
+	}
+
+	/**
+	 * Reacts to the final response of one request; the response is closed
+	 * afterwards
+	 */
+	private interface ResponseHandler {
+		void handle(Response response);
+	}
+
+	private void send(Request request, String url, int attempt, CompletableFuture<LinkStatus> result,
+			ResponseHandler handler) {
+		scheduler.submit(request.url().host(), permit -> client.newCall(request).enqueue(new Callback() {
+			@Override
+			public void onResponse(Call call, Response response) {
+				int status = response.code();
+				permit.finished(status, retryAfterMillis(response.header("Retry-After")));
+				if ((status == 429 || status == 503) && attempt < MAX_ATTEMPTS) {
+					// The scheduler has paused the host; the retry waits in its queue
+					response.close();
+					LOGGER.info("Status " + status + " for " + url + " - retrying after the host's back-off");
+					send(request, url, attempt + 1, result, handler);
+					return;
+				}
+				try (Response r = response) {
+					handler.handle(r);
+				} catch (RuntimeException e) {
+					LOGGER.warning("Error reading response for " + url + ": " + e.getMessage());
+					result.complete(new LinkStatus(url, url, -1, false));
+				}
+			}
+
+			@Override
+			public void onFailure(Call call, IOException e) {
+				permit.failed();
+				if (attempt < MAX_ATTEMPTS) {
+					LOGGER.warning("IO Exception getting HTTP status for URL: " + url + ", Retries left: "
+							+ (MAX_ATTEMPTS - attempt) + ", Error: " + e.getMessage());
+					send(request, url, attempt + 1, result, handler);
+				} else {
+					LOGGER.warning("Connection failed for: " + url + " - " + e.getMessage());
+					result.complete(new LinkStatus(url, url, -1, false));
+				}
+			}
+		}), () -> {
+			LOGGER.warning("Not checked (host circuit open): " + url);
+			result.complete(new LinkStatus(url, url, -1, false));
+		});
+	}
+
+	/**
+	 * Crawl-delay from the host's robots.txt for "User-agent: *", 0 when there is
+	 * none or robots.txt cannot be read. Capped at MAX_CRAWL_DELAY_MS.
+	 */
+	private CompletableFuture<Long> crawlDelay(String host) {
+		CompletableFuture<Long> delay = new CompletableFuture<>();
+		if (!RESPECT_CRAWL_DELAY) {
+			delay.complete(0L);
+			return delay;
+		}
+		Request request = new Request.Builder()
+				.url("https://" + host + "/robots.txt")
+				.header("User-Agent", StaticPage.USER_AGENT)
+				.build();
+		robotsClient.newCall(request).enqueue(new Callback() {
+			@Override
+			public void onResponse(Call call, Response response) {
+				try (Response r = response) {
+					long millis = 0;
+					if (r.isSuccessful() && r.body() != null) {
+						millis = parseCrawlDelay(r.body().source().readUtf8(
+								Math.min(ROBOTS_MAX_CHARS, Math.max(0, r.body().contentLength() < 0 ? ROBOTS_MAX_CHARS
+										: r.body().contentLength()))));
+					}
+					delay.complete(Math.min(millis, MAX_CRAWL_DELAY_MS));
+				} catch (IOException | RuntimeException e) {
+					delay.complete(0L);
+				}
+			}
+
+			@Override
+			public void onFailure(Call call, IOException e) {
+				delay.complete(0L);
+			}
+		});
+		return delay;
+	}
+
+	static long parseCrawlDelay(String robots) {
+		boolean inWildcardGroup = false;
+		boolean groupHasRules = false;
+		for (String rawLine : robots.split("\\r?\\n")) {
+			String line = rawLine.replaceAll("#.*", "").trim();
+			int colon = line.indexOf(':');
+			if (colon < 0) {
+				continue;
+			}
+			String field = line.substring(0, colon).trim().toLowerCase();
+			String value = line.substring(colon + 1).trim();
+			if (field.equals("user-agent")) {
+				// Consecutive User-agent lines form one group
+				if (groupHasRules) {
+					inWildcardGroup = false;
+					groupHasRules = false;
+				}
+				inWildcardGroup |= value.equals("*");
+			} else {
+				groupHasRules = true;
+				if (inWildcardGroup && field.equals("crawl-delay")) {
+					try {
+						return (long) (Double.parseDouble(value) * 1000);
+					} catch (NumberFormatException e) {
+						return 0;
+					}
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Retry-After as delta-seconds or HTTP date, -1 when absent or unreadable
+	 */
+	private static long retryAfterMillis(String retryAfter) {
+		if (retryAfter == null || retryAfter.trim().isEmpty()) {
+			return -1;
+		}
+		try {
+			return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+		} catch (NumberFormatException e) {
+			try {
+				ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+				return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+			} catch (DateTimeParseException ex) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Pages that return 200 but show an error page. Only text responses are
+	 * read, and only up to the detector's byte budget.
+	 */
+	private boolean isSoft404(ResponseBody body) {
+		if (body == null) {
+			return false;
+		}
+		MediaType contentType = body.contentType();
+		if (contentType != null && !Soft404Detector.isTextContent(contentType.type() + "/" + contentType.subtype())) {
+			return false;
+		}
+		Charset charset = contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+		try {
+			return Soft404Detector.isSoft404(new FilterInputStream(body.byteStream()) {
+				@Override
+				public int read() throws IOException {
+					int b = super.read();
+					if (b != -1) {
+						bodyBytes.incrementAndGet();
+					}
+					return b;
+				}
+
+				@Override
+				public int read(byte[] buffer, int offset, int length) throws IOException {
+					int read = super.read(buffer, offset, length);
+					if (read > 0) {
+						bodyBytes.addAndGet(read);
+					}
+					return read;
+				}
+			}, charset);
+		} catch (IOException e) {
+			LOGGER.warning("Error reading content for soft 404 check: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * System DNS with a run-wide cache, so each host is resolved once instead of
+	 * once per connection
+	 */
+	private static class CachingDns implements Dns {
+		private final Map<String, CachedLookup> lookups = new ConcurrentHashMap<>();
+
+		@Override
+		public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+			CachedLookup cached = lookups.get(hostname);
+			if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+				return cached.addresses;
+			}
+			List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+			lookups.put(hostname, new CachedLookup(addresses, System.currentTimeMillis() + DNS_TTL_MS));
+			return addresses;
+		}
+	}
+
+	private static class CachedLookup {
+		final List<InetAddress> addresses;
+		final long expiresAt;
+
+		CachedLookup(List<InetAddress> addresses, long expiresAt) {
+			this.addresses = addresses;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
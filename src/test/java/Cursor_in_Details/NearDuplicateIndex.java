@@ -0,0 +1,221 @@
+package Cursor_in_Details;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds screenshots that look the same as one already stored, so the report
+ * can show one shared image for them - the same button at 1920 and 1440 px,
+ * a repeated call to action. Each image gets a 256-bit difference hash
+ * (dHash: whether brightness clearly rises between neighbouring cells of a
+ * 17x16 grid) plus its size, mean colour and a 128 cell wide brightness map.
+ * Two images match when they have the same size, nearly the same mean colour,
+ * hashes at most MAX_DISTANCE bits apart and no spot in the brightness maps
+ * that differs by more than MAX_DETAIL_DIFFERENCE - the hash alone would take
+ * a one-letter change for noise. Hashes are split into bands and indexed by
+ * band value; two hashes within MAX_DISTANCE bits agree on at least one band,
+ * so only images sharing a band are compared. Images are only matched within
+ * their group (the highlight colour), since a shared image shows one outline.
+ */
+class NearDuplicateIndex {
+
+	// Differing hash bits still counted as the same image, negative turns the
+	// index off; -Dqa.dedupDistance=N
+	static final int MAX_DISTANCE = Integer.getInteger("qa.dedupDistance", 5);
+
+	private static final int GRID_WIDTH = 16;
+	private static final int GRID_HEIGHT = 16;
+	private static final int BITS = GRID_WIDTH * GRID_HEIGHT;
+	// Brightness step (0-255) between cells that sets a hash bit
+	private static final double MIN_RISE = 2.0;
+	// Mean channel values may differ by this much (0-255)
+	private static final int MAX_COLOR_DIFFERENCE = 6;
+	// Brightness map cells, and how much one cell may differ (0-255)
+	private static final int DETAIL_WIDTH = 128;
+	private static final int MAX_DETAIL_DIFFERENCE = 24;
+	// At least MAX_DISTANCE + 1 bands, and few enough bits per band for a long
+	private static final int BANDS = Math.max(4, MAX_DISTANCE + 1);
+	private static final int BAND_BITS = (BITS + BANDS - 1) / BANDS;
+
+	/**
+	 * Perceptual fingerprint of one image
+	 */
+	static final class Fingerprint {
+		final long[] hash;
+		final int width;
+		final int height;
+		final int[] meanColor;
+		final byte[] detail;
+
+		private Fingerprint(long[] hash, int width, int height, int[] meanColor, byte[] detail) {
+			this.hash = hash;
+			this.width = width;
+			this.height = height;
+			this.meanColor = meanColor;
+			this.detail = detail;
+		}
+	}
+
+	private static final class Entry {
+		final Fingerprint fingerprint;
+		// Weak, so the index does not keep screenshots of finished reports alive
+		final WeakReference<ScreenshotStore.Handle> handle;
+
+		Entry(Fingerprint fingerprint, ScreenshotStore.Handle handle) {
+			this.fingerprint = fingerprint;
+			this.handle = new WeakReference<>(handle);
+		}
+	}
+
+	// Guarded by this; "group:band:value" -> images of the group with that value in the band
+	private final Map<String, List<Entry>> bands = new HashMap<>();
+	private int entries = 0;
+	private int matches = 0;
+
+	/**
+	 * Fingerprint of the image
+	 */
+	static Fingerprint fingerprint(BufferedImage image) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+		// Mean brightness per cell of a (GRID_WIDTH + 1) x GRID_HEIGHT grid
+		double[] cells = new double[(GRID_WIDTH + 1) * GRID_HEIGHT];
+		int[] counts = new int[cells.length];
+		// Brightness map with square cells, DETAIL_WIDTH wide
+		int detailWidth = Math.min(DETAIL_WIDTH, width);
+		int detailHeight = Math.max(1, Math.min(height, (int) Math.round((double) height * detailWidth / width)));
+		double[] details = new double[detailWidth * detailHeight];
+		int[] detailCounts = new int[details.length];
+		long red = 0, green = 0, blue = 0;
+		for (int y = 0; y < height; y++) {
+			int row = y * GRID_HEIGHT / height;
+			for (int x = 0; x < width; x++) {
+				int pixel = rgb[y * width + x];
+				int r = (pixel >> 16) & 0xff, g = (pixel >> 8) & 0xff, b = pixel & 0xff;
+				red += r;
+				green += g;
+				blue += b;
+				int cell = row * (GRID_WIDTH + 1) + x * (GRID_WIDTH + 1) / width;
+				double brightness = 0.299 * r + 0.587 * g + 0.114 * b;
+				cells[cell] += brightness;
+				counts[cell]++;
+				int detail = (y * detailHeight / height) * detailWidth + x * detailWidth / width;
+				details[detail] += brightness;
+				detailCounts[detail]++;
+			}
+		}
+		byte[] detail = new byte[details.length];
+		for (int i = 0; i < detail.length; i++) {
+			detail[i] = (byte) Math.round(mean(details, detailCounts, i));
+		}
+		long[] hash = new long[BITS / 64];
+		for (int row = 0; row < GRID_HEIGHT; row++) {
+			for (int col = 0; col < GRID_WIDTH; col++) {
+				int left = row * (GRID_WIDTH + 1) + col;
+				// Small differences are noise, so flat areas hash the same every time
+				if (mean(cells, counts, left + 1) - mean(cells, counts, left) > MIN_RISE) {
+					int bit = row * GRID_WIDTH + col;
+					hash[bit / 64] |= 1L << (bit % 64);
+				}
+			}
+		}
+		long pixels = Math.max(1, (long) width * height);
+		return new Fingerprint(hash, width, height,
+				new int[] { (int) (red / pixels), (int) (green / pixels), (int) (blue / pixels) }, detail);
+	}
+
+	/**
+	 * The stored image of the group that looks like this one, or null when
+	 * there is none (or the index is off)
+	 */
+	synchronized ScreenshotStore.Handle find(Fingerprint fingerprint, String group) {
+		if (MAX_DISTANCE < 0) {
+			return null;
+		}
+		for (int band = 0; band < BANDS; band++) {
+			List<Entry> candidates = bands.get(bandKey(group, fingerprint.hash, band));
+			if (candidates == null) {
+				continue;
+			}
+			for (Entry entry : candidates) {
+				ScreenshotStore.Handle handle = entry.handle.get();
+				if (handle != null && matches(entry.fingerprint, fingerprint)) {
+					matches++;
+					return handle;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Remember a stored image so later look-alikes can share it
+	 */
+	synchronized void add(Fingerprint fingerprint, String group, ScreenshotStore.Handle handle) {
+		if (MAX_DISTANCE < 0) {
+			return;
+		}
+		Entry entry = new Entry(fingerprint, handle);
+		for (int band = 0; band < BANDS; band++) {
+			List<Entry> list = bands.computeIfAbsent(bandKey(group, fingerprint.hash, band), k -> new ArrayList<>());
+			// Drop entries whose image is gone while we are here
+			list.removeIf(e -> e.handle.get() == null);
+			list.add(entry);
+		}
+		entries++;
+	}
+
+	/**
+	 * "N image(s) indexed, M shared" for the log
+	 */
+	synchronized String summary() {
+		return entries + " image(s) indexed, " + matches + " near-duplicate(s) shared";
+	}
+
+	static int distance(long[] a, long[] b) {
+		int bits = 0;
+		for (int i = 0; i < a.length; i++) {
+			bits += Long.bitCount(a[i] ^ b[i]);
+		}
+		return bits;
+	}
+
+	private static boolean matches(Fingerprint a, Fingerprint b) {
+		if (Math.abs(a.width - b.width) > 1 || Math.abs(a.height - b.height) > 1) {
+			return false;
+		}
+		for (int i = 0; i < 3; i++) {
+			if (Math.abs(a.meanColor[i] - b.meanColor[i]) > MAX_COLOR_DIFFERENCE) {
+				return false;
+			}
+		}
+		if (distance(a.hash, b.hash) > MAX_DISTANCE || a.detail.length != b.detail.length) {
+			return false;
+		}
+		for (int i = 0; i < a.detail.length; i++) {
+			if (Math.abs((a.detail[i] & 0xff) - (b.detail[i] & 0xff)) > MAX_DETAIL_DIFFERENCE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String bandKey(String group, long[] hash, int band) {
+		long value = 0;
+		int from = band * BAND_BITS;
+		int to = Math.min(BITS, from + BAND_BITS);
+		for (int bit = from; bit < to; bit++) {
+			value = (value << 1) | ((hash[bit / 64] >>> (bit % 64)) & 1);
+		}
+		return group + ":" + band + ":" + value;
+	}
+
+	private static double mean(double[] cells, int[] counts, int cell) {
+		return counts[cell] == 0 ? 0 : cells[cell] / counts[cell];
+	}
+}
@@ -0,0 +1,246 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Decides when a loaded page is ready to audit from DevTools network and
+ * page events: the load event has fired, at most MAX_INFLIGHT requests have
+ * been outstanding for QUIET_MS, and the web fonts are ready. Long-polling
+ * and analytics beacons are why a few requests may stay open. The raw CDP
+ * method names are used, so no DevTools version has to match the browser.
+ * Without DevTools only document.readyState and the fonts are checked.
+ */
+class NetworkIdleTracker {
+
+	private static final Logger LOGGER = Logger.getLogger(NetworkIdleTracker.class.getName());
+
+	// -Dqa.idleMaxInflight=N requests that may stay open, -Dqa.idleQuietMs=N how long
+	// that must hold, -Dqa.readyTimeoutSeconds=N upper bound for the whole wait
+	static final int MAX_INFLIGHT = Integer.getInteger("qa.idleMaxInflight", 2);
+	static final long QUIET_MS = Long.getLong("qa.idleQuietMs", 500);
+	static final long READY_TIMEOUT_SECONDS = Long.getLong("qa.readyTimeoutSeconds", 20);
+
+	private static final Map<WebDriver, NetworkIdleTracker> TRACKERS = Collections
+			.synchronizedMap(new IdentityHashMap<>());
+
+	private final DevTools devTools;
+	// Guarded by this
+	private final Set<String> inflight = new HashSet<>();
+	private boolean loaded = false;
+	private long idleSince = System.currentTimeMillis();
+
+	private NetworkIdleTracker(DevTools devTools) {
+		this.devTools = devTools;
+	}
+
+	/**
+	 * Readiness of one page load: whether the network went idle, how long it
+	 * took and what was still open when it stopped waiting
+	 */
+	static class Readiness {
+		final boolean idle;
+		final long millis;
+		final String detail;
+
+		Readiness(boolean idle, long millis, String detail) {
+			this.idle = idle;
+			this.millis = millis;
+			this.detail = detail;
+		}
+
+		@Override
+		public String toString() {
+			return millis + " ms (" + detail + ")";
+		}
+	}
+
+	/**
+	 * The tracker of the session, attached on first use. Null when the browser
+	 * has no DevTools connection.
+	 */
+	static NetworkIdleTracker forDriver(WebDriver driver) {
+		synchronized (TRACKERS) {
+			if (TRACKERS.containsKey(driver)) {
+				return TRACKERS.get(driver);
+			}
+			NetworkIdleTracker tracker = null;
+			if (driver instanceof HasDevTools) {
+				try {
+					DevTools devTools = ((HasDevTools) driver).getDevTools();
+					devTools.createSessionIfThereIsNotOne();
+					tracker = new NetworkIdleTracker(devTools);
+					tracker.listen();
+				} catch (Exception e) {
+					LOGGER.warning("DevTools network events not available, readiness falls back to document state: "
+							+ e.getMessage());
+					tracker = null;
+				}
+			}
+			// Failures are remembered too, so they are not retried for every page
+			TRACKERS.put(driver, tracker);
+			return tracker;
+		}
+	}
+
+	/**
+	 * Forget the tracker of a driver that has been quit
+	 */
+	static void detach(WebDriver driver) {
+		NetworkIdleTracker tracker = TRACKERS.remove(driver);
+		if (tracker != null) {
+			try {
+				tracker.devTools.clearListeners();
+			} catch (Exception e) {
+				LOGGER.fine("Could not clear DevTools listeners: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Navigate and wait until the page is ready (or READY_TIMEOUT_SECONDS have
+	 * passed). Uses the session's tracker when there is one.
+	 */
+	static Readiness load(WebDriver driver, String url) {
+		NetworkIdleTracker tracker = forDriver(driver);
+		long start = System.currentTimeMillis();
+		long deadline = start + TimeUnit.SECONDS.toMillis(READY_TIMEOUT_SECONDS);
+		if (tracker != null) {
+			tracker.reset();
+		}
+		driver.get(url);
+		String detail;
+		boolean idle;
+		if (tracker != null) {
+			idle = tracker.awaitIdle(deadline);
+			detail = idle ? "network idle" : "timed out with " + tracker.inflightCount() + " request(s) open";
+		} else {
+			idle = awaitDocumentComplete(driver, deadline);
+			detail = idle ? "document complete" : "timed out before document complete";
+		}
+		if (!awaitFonts(driver, deadline)) {
+			detail += ", fonts not ready";
+		}
+		return new Readiness(idle, System.currentTimeMillis() - start, detail);
+	}
+
+	private void listen() {
+		Map<String, Object> none = new HashMap<>();
+		devTools.send(new Command<>("Network.enable", none));
+		devTools.send(new Command<>("Page.enable", none));
+		devTools.addListener(event("Network.requestWillBeSent"), params -> started(params.get("requestId")));
+		devTools.addListener(event("Network.loadingFinished"), params -> ended(params.get("requestId")));
+		devTools.addListener(event("Network.loadingFailed"), params -> ended(params.get("requestId")));
+		devTools.addListener(event("Page.loadEventFired"), params -> loadFired());
+	}
+
+	private static Event<Map<String, Object>> event(String method) {
+		return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+	}
+
+	private synchronized void reset() {
+		inflight.clear();
+		loaded = false;
+		idleSince = System.currentTimeMillis();
+	}
+
+	private synchronized void started(Object requestId) {
+		if (requestId != null && inflight.add(requestId.toString()) && inflight.size() == MAX_INFLIGHT + 1) {
+			idleSince = -1;
+		}
+	}
+
+	private synchronized void ended(Object requestId) {
+		if (requestId != null && inflight.remove(requestId.toString()) && inflight.size() == MAX_INFLIGHT) {
+			idleSince = System.currentTimeMillis();
+			notifyAll();
+		}
+	}
+
+	private synchronized void loadFired() {
+		loaded = true;
+		notifyAll();
+	}
+
+	private synchronized int inflightCount() {
+		return inflight.size();
+	}
+
+	/**
+	 * Block until the load event fired and the network has been idle for
+	 * QUIET_MS, or the deadline passed
+	 */
+	private synchronized boolean awaitIdle(long deadline) {
+		try {
+			while (true) {
+				long now = System.currentTimeMillis();
+				if (now >= deadline) {
+					return false;
+				}
+				long wait = deadline - now;
+				if (loaded && idleSince >= 0) {
+					long quietLeft = QUIET_MS - (now - idleSince);
+					if (quietLeft <= 0) {
+						return true;
+					}
+					wait = Math.min(wait, quietLeft);
+				}
+				wait(wait);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static boolean awaitDocumentComplete(WebDriver driver, long deadline) {
+		try {
+			while (System.currentTimeMillis() < deadline) {
+				if ("complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState"))) {
+					return true;
+				}
+				Thread.sleep(100);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			LOGGER.fine("Could not read document.readyState: " + e.getMessage());
+		}
+		return false;
+	}
+
+	/**
+	 * document.fonts.ready, so text is measured and captured in its web font
+	 */
+	private static boolean awaitFonts(WebDriver driver, long deadline) {
+		long left = Math.max(1, deadline - System.currentTimeMillis());
+		try {
+			driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(READY_TIMEOUT_SECONDS + 1));
+			Object ready = ((JavascriptExecutor) driver).executeAsyncScript(
+					"var done = arguments[arguments.length - 1];"
+							+ "if (!document.fonts) { done(true); return; }"
+							+ "setTimeout(function () { done(false); }, arguments[0]);"
+							+ "document.fonts.ready.then(function () { done(true); });",
+					left);
+			return Boolean.TRUE.equals(ready);
+		} catch (Exception e) {
+			LOGGER.fine("Could not wait for web fonts: " + e.getMessage());
+			return false;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Full-page capture of the loaded page, taken through DevTools in horizontal
+ * bands of at most BAND_HEIGHT CSS pixels. Element screenshots are cut from
+ * the bands as the element with a margin around it, and the ThumbnailPipeline
+ * draws the highlight outline with Java2D - the page itself is never scrolled
+ * or restyled.
+ */
+class PageCapture {
+
+	private static final Logger LOGGER = Logger.getLogger(PageCapture.class.getName());
+
+	// Chrome cannot capture arbitrarily tall surfaces in one go, so tall pages are split
+	private static final int BAND_HEIGHT = 4096;
+	private static final int OUTLINE_WIDTH = 6;
+	private static final int OUTLINE_OFFSET = 3;
+
+	private final HasCdp cdp;
+	private final int viewportWidth;
+	private final int viewportHeight;
+	private final int pageHeight;
+	// Band top (CSS px) -> captured image, only the bands still needed are kept
+	private final TreeMap<Integer, BufferedImage> bands = new TreeMap<>();
+	private double scale = 1.0;
+	private int captureCount = 0;
+
+	private PageCapture(HasCdp cdp, int viewportWidth, int viewportHeight, int pageHeight) {
+		this.cdp = cdp;
+		this.viewportWidth = viewportWidth;
+		this.viewportHeight = viewportHeight;
+		this.pageHeight = pageHeight;
+	}
+
+	/**
+	 * Measure the loaded page. Returns null when the browser has no DevTools
+	 * access, so the caller can fall back to per-element screenshots.
+	 */
+	static PageCapture open(WebDriver driver) {
+		if (!(driver instanceof HasCdp)) {
+			return null;
+		}
+		try {
+			@SuppressWarnings("unchecked")
+			List<Object> size = (List<Object>) ((JavascriptExecutor) driver).executeScript(
+					"return [window.innerWidth, window.innerHeight, Math.max(document.body.scrollHeight, "
+							+ "document.documentElement.scrollHeight)];");
+			int width = ((Number) size.get(0)).intValue();
+			int height = ((Number) size.get(1)).intValue();
+			int pageHeight = Math.max(height, ((Number) size.get(2)).intValue());
+			return new PageCapture((HasCdp) driver, width, height, pageHeight);
+		} catch (Exception e) {
+			LOGGER.warning("Could not measure page for full-page capture: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Screenshot of the element with ThumbnailPipeline.MARGIN CSS pixels
+	 * around it (clamped to the page, at most one viewport tall, centred on
+	 * the element), without highlight - see highlight(). Encoding is left to
+	 * the ThumbnailPipeline.
+	 */
+	BufferedImage crop(int x, int y, int width, int height) throws IOException {
+		Rectangle area = cropArea(x, y, width, height);
+		int left = area.x;
+		int top = area.y;
+		int windowWidth = area.width;
+		int windowHeight = area.height;
+		releaseBandsAbove(top);
+
+		BufferedImage window = null;
+		Graphics2D g = null;
+		try {
+			int bandTop = (top / BAND_HEIGHT) * BAND_HEIGHT;
+			for (; bandTop < top + windowHeight; bandTop += BAND_HEIGHT) {
+				BufferedImage band = band(bandTop);
+				if (window == null) {
+					window = new BufferedImage(scaled(windowWidth), scaled(windowHeight),
+							BufferedImage.TYPE_INT_RGB);
+					g = window.createGraphics();
+				}
+				// Copy the part of the band that falls inside the window
+				int from = Math.max(top, bandTop);
+				int to = Math.min(top + windowHeight, bandTop + BAND_HEIGHT);
+				g.drawImage(band, 0, scaled(from - top), scaled(windowWidth), scaled(to - top), scaled(left),
+						scaled(from - bandTop), scaled(left + windowWidth), scaled(to - bandTop), null);
+			}
+		} finally {
+			if (g != null) {
+				g.dispose();
+			}
+		}
+		return window;
+	}
+
+	/**
+	 * The outline for the element's crop, in pixels of the image crop()
+	 * returns. Same look as the DOM highlight: a 6px outline 3px outside the
+	 * element.
+	 */
+	ThumbnailPipeline.Highlight highlight(int x, int y, int width, int height, String highlightColor) {
+		Rectangle area = cropArea(x, y, width, height);
+		int inset = OUTLINE_OFFSET + OUTLINE_WIDTH / 2;
+		return new ThumbnailPipeline.Highlight(highlightColor,
+				new Rectangle(scaled(x - area.x - inset), scaled(y - area.y - inset), scaled(width + 2 * inset),
+						scaled(height + 2 * inset)),
+				scaled(OUTLINE_WIDTH));
+	}
+
+	/**
+	 * The part of the page crop() cuts out for the element, in CSS pixels
+	 */
+	private Rectangle cropArea(int x, int y, int width, int height) {
+		int margin = ThumbnailPipeline.MARGIN;
+		int windowHeight = Math.min(Math.min(height + 2 * margin, viewportHeight), pageHeight);
+		int top = y + height / 2 - windowHeight / 2;
+		top = Math.max(0, Math.min(top, pageHeight - windowHeight));
+		int left = Math.max(0, x - margin);
+		int windowWidth = Math.max(1, Math.min(viewportWidth, x + width + margin) - left);
+		return new Rectangle(left, top, windowWidth, windowHeight);
+	}
+
+	/**
+	 * Number of DevTools captures taken so far
+	 */
+	int captureCount() {
+		return captureCount;
+	}
+
+	private BufferedImage band(int bandTop) throws IOException {
+		BufferedImage band = bands.get(bandTop);
+		if (band != null) {
+			return band;
+		}
+
+		int bandHeight = Math.min(BAND_HEIGHT, pageHeight - bandTop);
+		Map<String, Object> clip = new HashMap<>();
+		clip.put("x", 0);
+		clip.put("y", bandTop);
+		clip.put("width", viewportWidth);
+		clip.put("height", bandHeight);
+		clip.put("scale", 1);
+		Map<String, Object> params = new HashMap<>();
+		params.put("format", "png");
+		params.put("captureBeyondViewport", true);
+		params.put("clip", clip);
+
+		Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot", params);
+		band = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode((String) result.get("data"))));
+		if (band == null) {
+			throw new IOException("Unreadable page capture at y=" + bandTop);
+		}
+		captureCount++;
+		// Device pixel ratio: the capture can be larger than the clip in CSS pixels
+		scale = (double) band.getWidth() / viewportWidth;
+		bands.put(bandTop, band);
+		return band;
+	}
+
+	/**
+	 * Elements are cropped top to bottom, so bands that end above the current
+	 * window are not needed any more
+	 */
+	private void releaseBandsAbove(int top) {
+		Iterator<Map.Entry<Integer, BufferedImage>> it = bands.entrySet().iterator();
+		while (it.hasNext()) {
+			if (it.next().getKey() + BAND_HEIGHT <= top) {
+				it.remove();
+			}
+		}
+	}
+
+	private int scaled(int cssPixels) {
+		return (int) Math.round(cssPixels * scale);
+	}
+}
@@ -0,0 +1,121 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import Cursor_in_Details.StyleGuide_ValidatorQA.LinkInfo;
+
+/**
+ * The links of the loaded page for the broken link check, read by one
+ * injected script: absolute http(s) URLs without duplicates, with link text,
+ * rel and visibility. The checker works on this plain data, so no WebElement
+ * is touched (or goes stale) while links are being checked.
+ */
+class PageLinks {
+
+	private static final Logger LOGGER = Logger.getLogger(PageLinks.class.getName());
+
+	// Returns [{ href, text, rel, visible }], one entry per absolute URL (without
+	// fragment) in document order. Hidden links are included - they can still
+	// point to 404s. The text is the first non-empty one among the URL's links,
+	// visible if any of its links is.
+	static final String SCRIPT = "var byUrl = {}; var result = [];"
+			+ "document.querySelectorAll('a[href], area[href]').forEach(function (el) {"
+			+ "  var href = String(el.href || '');"
+			+ "  if (!/^https?:/i.test(href)) { return; }"
+			+ "  var key = href.split('#')[0];"
+			+ "  var style = window.getComputedStyle(el);"
+			+ "  var visible = el.getClientRects().length > 0 && style.visibility !== 'hidden';"
+			+ "  var text = ((visible ? el.innerText : '') || el.textContent || el.getAttribute('aria-label') || '').trim();"
+			+ "  var link = byUrl[key];"
+			+ "  if (!link) {"
+			+ "    link = byUrl[key] = { href: href, text: text, rel: el.getAttribute('rel') || '', visible: visible };"
+			+ "    result.push(link);"
+			+ "  } else {"
+			+ "    if (!link.text) { link.text = text; }"
+			+ "    link.visible = link.visible || visible;"
+			+ "  }"
+			+ "});"
+			+ "return result;";
+
+	private PageLinks() {
+	}
+
+	/**
+	 * Run the script on the loaded page. If it fails the links are read element
+	 * by element instead (href and text only).
+	 */
+	@SuppressWarnings("unchecked")
+	static List<LinkInfo> collect(WebDriver driver) {
+		List<LinkInfo> links = new ArrayList<>();
+		try {
+			List<Map<String, Object>> records = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+					.executeScript(SCRIPT);
+			if (records != null) {
+				for (Map<String, Object> record : records) {
+					links.add(new LinkInfo(string(record, "href"), string(record, "text"), string(record, "rel"),
+							!Boolean.FALSE.equals(record.get("visible"))));
+				}
+				return links;
+			}
+		} catch (Exception e) {
+			LOGGER.warning("Link collection script failed, reading links one by one: " + e.getMessage());
+		}
+		return collectPerElement(driver);
+	}
+
+	/**
+	 * Drop later links to the same URL (ignoring the fragment), keeping the
+	 * first non-empty text - what the script does in the page
+	 */
+	static List<LinkInfo> deduplicate(List<LinkInfo> links) {
+		Map<String, LinkInfo> byUrl = new LinkedHashMap<>();
+		for (LinkInfo link : links) {
+			if (link.href == null) {
+				continue;
+			}
+			int hash = link.href.indexOf('#');
+			String key = hash >= 0 ? link.href.substring(0, hash) : link.href;
+			LinkInfo first = byUrl.putIfAbsent(key, link);
+			if (first != null) {
+				if (first.text.isEmpty() && !link.text.isEmpty()) {
+					first.text = link.text;
+				}
+				first.visible |= link.visible;
+			}
+		}
+		return new ArrayList<>(byUrl.values());
+	}
+
+	private static List<LinkInfo> collectPerElement(WebDriver driver) {
+		List<LinkInfo> links = new ArrayList<>();
+		try {
+			for (WebElement link : driver.findElements(By.tagName("a"))) {
+				try {
+					String href = link.getAttribute("href");
+					if (href != null && href.matches("(?i)^https?:.*")) {
+						links.add(new LinkInfo(href, link.getText() != null ? link.getText().trim() : ""));
+					}
+				} catch (Exception e) {
+					LOGGER.warning("Error processing link element: " + e.getMessage());
+				}
+			}
+		} catch (Exception e) {
+			LOGGER.warning("Error collecting links: " + e.getMessage());
+		}
+		return deduplicate(links);
+	}
+
+	private static String string(Map<String, Object> record, String key) {
+		Object value = record.get(key);
+		return value != null ? value.toString() : "";
+	}
+}
@@ -0,0 +1,182 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Waits that end as soon as the page signals it is ready instead of fixed
+ * sleeps: the scroll position has stopped changing, animation frames have
+ * been painted, images in the viewport have loaded, the DOM has been free of
+ * mutations for a short quiet period, or an element's transitions have
+ * finished. Every wait runs in one async script and is capped at
+ * MAX_WAIT_MS. The time spent is tallied per browser session for the report.
+ */
+class PageWaits {
+
+	private static final Logger LOGGER = Logger.getLogger(PageWaits.class.getName());
+
+	// Ceiling for any single wait and the DOM quiet period;
+	// -Dqa.waitCeilingMs=N, -Dqa.quietPeriodMs=N
+	static final long MAX_WAIT_MS = Long.getLong("qa.waitCeilingMs", 3000);
+	static final long QUIET_MS = Long.getLong("qa.quietPeriodMs", 100);
+
+	// arguments: [steps], element (or null), ceiling ms, quiet ms, callback.
+	// Runs the steps one after another and calls back with { timedOut }.
+	static final String SCRIPT = "var steps = arguments[0], el = arguments[1], ceiling = arguments[2],"
+			+ "  quietMs = arguments[3], done = arguments[arguments.length - 1];"
+			+ "var finished = false, cleanup = [];"
+			+ "function finish(timedOut) {"
+			+ "  if (finished) { return; } finished = true;"
+			+ "  cleanup.forEach(function (f) { try { f(); } catch (e) {} });"
+			+ "  done({ timedOut: timedOut });"
+			+ "}"
+			+ "setTimeout(function () { finish(true); }, ceiling);"
+			+ "function frames(n, next) { requestAnimationFrame(function () { n > 1 ? frames(n - 1, next) : next(); }); }"
+			+ "var run = {"
+			+ "  frames: function (next) { frames(2, next); },"
+			// Scroll-end: the position is unchanged over two frames
+			+ "  scrolled: function (next) {"
+			+ "    var lastY = window.pageYOffset, lastX = window.pageXOffset, still = 0;"
+			+ "    (function check() { requestAnimationFrame(function () {"
+			+ "      var y = window.pageYOffset, x = window.pageXOffset;"
+			+ "      still = (y === lastY && x === lastX) ? still + 1 : 0; lastY = y; lastX = x;"
+			+ "      still >= 2 ? next() : check();"
+			+ "    }); })();"
+			+ "  },"
+			+ "  images: function (next) {"
+			+ "    var pending = Array.prototype.filter.call(document.images, function (img) {"
+			+ "      if (img.complete || !img.getClientRects().length) { return false; }"
+			+ "      var r = img.getBoundingClientRect();"
+			+ "      return r.bottom >= 0 && r.top <= window.innerHeight && r.right >= 0 && r.left <= window.innerWidth;"
+			+ "    });"
+			+ "    var left = pending.length; if (!left) { next(); return; }"
+			+ "    function one() { if (--left === 0) { next(); } }"
+			+ "    pending.forEach(function (img) {"
+			+ "      img.addEventListener('load', one, { once: true }); img.addEventListener('error', one, { once: true });"
+			+ "    });"
+			+ "  },"
+			+ "  quiet: function (next) {"
+			+ "    var timer = setTimeout(next, quietMs);"
+			+ "    var observer = new MutationObserver(function () { clearTimeout(timer); timer = setTimeout(next, quietMs); });"
+			+ "    observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true });"
+			+ "    cleanup.push(function () { clearTimeout(timer); observer.disconnect(); });"
+			+ "  },"
+			+ "  animations: function (next) {"
+			+ "    var running = el && el.getAnimations ? el.getAnimations({ subtree: true }) : [];"
+			+ "    Promise.all(running.map(function (a) { return a.finished.catch(function () {}); })).then(next);"
+			+ "  }"
+			+ "};"
+			+ "(function step(i) {"
+			+ "  if (finished) { return; }"
+			+ "  if (i >= steps.length) { finish(false); return; }"
+			+ "  run[steps[i]](function () { step(i + 1); });"
+			+ "})(0);";
+
+	private static final Map<WebDriver, Totals> TOTALS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/**
+	 * Waits of one session so far: how many, how long, and how many hit the
+	 * ceiling
+	 */
+	static class Totals {
+		final long waits;
+		final long millis;
+		final long timeouts;
+
+		Totals(long waits, long millis, long timeouts) {
+			this.waits = waits;
+			this.millis = millis;
+			this.timeouts = timeouts;
+		}
+
+		/**
+		 * "N wait(s), X ms" for the waits since start
+		 */
+		String since(Totals start) {
+			long count = waits - start.waits;
+			long ceilingHits = timeouts - start.timeouts;
+			return count + " wait(s), " + (millis - start.millis) + " ms"
+					+ (ceilingHits > 0 ? ", " + ceilingHits + " hit the " + MAX_WAIT_MS + " ms ceiling" : "");
+		}
+	}
+
+	private PageWaits() {
+	}
+
+	/**
+	 * After a scroll: until the position stops changing and the frame is painted
+	 */
+	static void afterScroll(WebDriver driver) {
+		await(driver, null, "scrolled", "frames");
+	}
+
+	/**
+	 * After one step of a page-long scroll: the scroll has ended and the
+	 * images it brought into view have loaded
+	 */
+	static void afterScrollStep(WebDriver driver) {
+		await(driver, null, "scrolled", "frames", "images");
+	}
+
+	/**
+	 * Until scroll, images and DOM are all quiet - e.g. after lazy content was
+	 * triggered at the bottom of the page
+	 */
+	static void untilSettled(WebDriver driver) {
+		await(driver, null, "scrolled", "images", "quiet");
+	}
+
+	/**
+	 * After inline styles were changed: until the change has been painted
+	 */
+	static void afterStyleChange(WebDriver driver) {
+		await(driver, null, "frames");
+	}
+
+	/**
+	 * After the pointer moved onto the element: until its hover transitions
+	 * have finished
+	 */
+	static void afterHover(WebDriver driver, WebElement element) {
+		await(driver, element, "frames", "animations");
+	}
+
+	/**
+	 * Totals of the session so far; all zero for a driver that never waited
+	 */
+	static Totals totals(WebDriver driver) {
+		Totals totals = TOTALS.get(driver);
+		return totals != null ? totals : new Totals(0, 0, 0);
+	}
+
+	/**
+	 * Forget the totals of a driver that has been quit
+	 */
+	static void detach(WebDriver driver) {
+		TOTALS.remove(driver);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void await(WebDriver driver, WebElement element, String... steps) {
+		long start = System.nanoTime();
+		boolean timedOut = false;
+		try {
+			Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT,
+					Arrays.asList(steps), element, MAX_WAIT_MS, QUIET_MS);
+			timedOut = result != null && Boolean.TRUE.equals(result.get("timedOut"));
+		} catch (Exception e) {
+			LOGGER.fine("Wait for " + String.join("/", steps) + " failed: " + e.getMessage());
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		TOTALS.merge(driver, new Totals(1, millis, timedOut ? 1 : 0),
+				(a, b) -> new Totals(a.waits + b.waits, a.millis + b.millis, a.timeouts + b.timeouts));
+	}
+}
@@ -0,0 +1,69 @@
+package Cursor_in_Details;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run-wide cache of redirect hops, keyed by the normalized source URL. Once
+ * http://site/ was seen redirecting to https://site/ (and on to
+ * https://www.site/), later links to any URL of that chain start at the last
+ * known hop instead of requesting every hop again. Only permanent redirects
+ * (301, 308) are cached: temporary ones are often login, geo or A/B
+ * redirects that can differ from one request to the next. Hops expire with
+ * the link status cache TTL.
+ */
+class RedirectCache {
+
+	private final Map<String, Hop> hops = new ConcurrentHashMap<>();
+	private final AtomicInteger recorded = new AtomicInteger();
+	private final AtomicInteger skipped = new AtomicInteger();
+
+	/**
+	 * One redirect response: where it points and its status (301, 302, ...)
+	 */
+	static class Hop {
+		final String target;
+		final int status;
+		final long seenAt;
+
+		Hop(String target, int status, long seenAt) {
+			this.target = target;
+			this.status = status;
+			this.seenAt = seenAt;
+		}
+	}
+
+	/**
+	 * The known redirect from the URL, null if none is cached or it expired
+	 */
+	Hop next(String url) {
+		String key = LinkStatusCache.normalize(url);
+		Hop hop = hops.get(key);
+		if (hop == null) {
+			return null;
+		}
+		if (LinkStatusCache.TTL_MINUTES <= 0
+				|| System.currentTimeMillis() - hop.seenAt > TimeUnit.MINUTES.toMillis(LinkStatusCache.TTL_MINUTES)) {
+			hops.remove(key, hop);
+			return null;
+		}
+		skipped.incrementAndGet();
+		return hop;
+	}
+
+	/**
+	 * Count a redirect response, and cache it if it is permanent
+	 */
+	void record(String source, String target, int status) {
+		recorded.incrementAndGet();
+		if (LinkStatusCache.TTL_MINUTES > 0 && (status == 301 || status == 308)) {
+			hops.put(LinkStatusCache.normalize(source), new Hop(target, status, System.currentTimeMillis()));
+		}
+	}
+
+	String stats() {
+		return recorded.get() + " redirect hop(s) requested, " + skipped.get() + " answered from cache";
+	}
+}
@@ -0,0 +1,98 @@
+package Cursor_in_Details;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Screenshot files of one report, in a directory next to it
+ * ("&lt;report&gt;_assets"). Each image is named by the SHA-256 of its
+ * content, so identical captures - the same element at two resolutions, a
+ * page that did not change - are written once and shared by every image that
+ * shows them.
+ */
+class ReportAssets {
+
+	private final Path dir;
+	private final String dirName;
+	// Content hash -> file name, for the captures written so far
+	private final Map<String, String> written = new HashMap<>();
+	private int references = 0;
+	private long bytes = 0;
+
+	ReportAssets(Path report) {
+		String name = report.getFileName().toString();
+		this.dirName = (name.endsWith(".html") ? name.substring(0, name.length() - 5) : name) + "_assets";
+		this.dir = report.resolveSibling(dirName);
+	}
+
+	/**
+	 * Write the image (PNG or JPEG) unless the same content was written
+	 * before, and return its path relative to the report, ready for a src
+	 * attribute
+	 */
+	String write(byte[] image) throws IOException {
+		references++;
+		String hash = sha256(image);
+		String file = written.get(hash);
+		if (file == null) {
+			file = hash + (isJpeg(image) ? ".jpg" : ".png");
+			Files.createDirectories(dir);
+			Path target = dir.resolve(file);
+			Path part = dir.resolve(file + ".part");
+			Files.write(part, image);
+			Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+			written.put(hash, file);
+			bytes += image.length;
+		}
+		return dirName.replace("%", "%25").replace(" ", "%20").replace("#", "%23") + "/" + file;
+	}
+
+	/**
+	 * "N image(s) in M file(s), X KB" for the log
+	 */
+	String summary() {
+		return references + " image(s) in " + written.size() + " file(s), " + bytes / 1024 + " KB";
+	}
+
+	/**
+	 * Remove the directory, e.g. when the report itself was not completed
+	 */
+	void discard() throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+		Files.deleteIfExists(dir);
+	}
+
+	/**
+	 * Whether the bytes start like a JPEG file; everything else is taken as PNG
+	 */
+	static boolean isJpeg(byte[] image) {
+		return image.length > 2 && (image[0] & 0xff) == 0xff && (image[1] & 0xff) == 0xd8;
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			StringBuilder hex = new StringBuilder();
+			for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform has SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
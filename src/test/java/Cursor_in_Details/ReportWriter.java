@@ -0,0 +1,160 @@
+package Cursor_in_Details;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.logging.Logger;
+
+/**
+ * Writes the dashboard straight to its file while it is generated, with the
+ * same append calls as a StringBuilder, so the report is never held in
+ * memory as a whole. Screenshots go to the report's asset directory (see
+ * ReportAssets) and are referenced by path. The report is written to a
+ * ".part" file and renamed when complete. Write errors are thrown as
+ * UncheckedIOException so appends can be chained.
+ */
+class ReportWriter implements Closeable {
+
+	private static final Logger LOGGER = Logger.getLogger(ReportWriter.class.getName());
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Path file;
+	private final Path partFile;
+	private final OutputStream out;
+	private final Writer writer;
+	private final ReportAssets assets;
+	private boolean complete = false;
+
+	ReportWriter(String filename) throws IOException {
+		this.file = Paths.get(filename);
+		this.partFile = Paths.get(filename + ".part");
+		this.out = new BufferedOutputStream(Files.newOutputStream(partFile), BUFFER_SIZE);
+		this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		this.assets = new ReportAssets(file);
+	}
+
+	ReportWriter append(String text) {
+		try {
+			writer.write(text != null ? text : "null");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return this;
+	}
+
+	ReportWriter append(char c) {
+		try {
+			writer.write(c);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return this;
+	}
+
+	ReportWriter append(int value) {
+		return append(String.valueOf(value));
+	}
+
+	ReportWriter append(long value) {
+		return append(String.valueOf(value));
+	}
+
+	ReportWriter append(double value) {
+		return append(String.valueOf(value));
+	}
+
+	ReportWriter append(boolean value) {
+		return append(String.valueOf(value));
+	}
+
+	ReportWriter append(Object value) {
+		return append(String.valueOf(value));
+	}
+
+	/**
+	 * Value for the src attribute of a screenshot: its file in the asset
+	 * directory, or the image inline as a data URI if the file could not be
+	 * written
+	 */
+	ReportWriter appendImageSource(byte[] image) {
+		if (image != null && image.length > 0) {
+			try {
+				return append(assets.write(image).replace("&", "&amp;").replace("\"", "&quot;"));
+			} catch (IOException e) {
+				LOGGER.warning("Could not write screenshot asset, embedding it instead: " + e.getMessage());
+			}
+		}
+		boolean jpeg = image != null && ReportAssets.isJpeg(image);
+		return append(jpeg ? "data:image/jpeg;base64," : "data:image/png;base64,").appendBase64(image);
+	}
+
+	/**
+	 * What was written to the asset directory, for the log
+	 */
+	String assetSummary() {
+		return assets.summary();
+	}
+
+	/**
+	 * Base64 of the bytes, encoded on the way to the file
+	 */
+	ReportWriter appendBase64(byte[] data) {
+		if (data == null || data.length == 0) {
+			return this;
+		}
+		try {
+			// Pending text first, so the two paths stay in order
+			writer.flush();
+			try (OutputStream base64 = Base64.getEncoder().wrap(new FilterOutputStream(out) {
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+				}
+
+				@Override
+				public void close() throws IOException {
+					// Ends the base64 block only; the report stream stays open
+					flush();
+				}
+			})) {
+				base64.write(data);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Mark the report as complete; close() then moves it into place
+	 */
+	void complete() {
+		complete = true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writer.close();
+		} finally {
+			if (complete) {
+				Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+			} else {
+				Files.deleteIfExists(partFile);
+				assets.discard();
+			}
+		}
+	}
+}
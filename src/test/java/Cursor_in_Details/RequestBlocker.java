@@ -0,0 +1,202 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Blocks requests that do not matter for style and content QA (analytics,
+ * ads, chat widgets, video embeds and, in the text-only preset, images and
+ * media) through DevTools request interception. Only matching requests are
+ * paused by the browser, and every paused request is failed, so the rest of
+ * the page loads untouched. Blocked requests are counted per session by
+ * resource type for the report.
+ */
+class RequestBlocker {
+
+	private static final Logger LOGGER = Logger.getLogger(RequestBlocker.class.getName());
+
+	// -Dqa.blockProfile=none|trackers|text-only; -Dqa.blockUrls=*pattern*,... and
+	// -Dqa.blockTypes=Image,Media,Font,... add to the preset (CDP resource types)
+	static final String PROFILE = System.getProperty("qa.blockProfile", "none");
+	static final String EXTRA_URLS = System.getProperty("qa.blockUrls", "");
+	static final String EXTRA_TYPES = System.getProperty("qa.blockTypes", "");
+
+	// Analytics, tag managers, ad networks, chat widgets and video players
+	private static final List<String> TRACKER_PATTERNS = Arrays.asList(
+			"*google-analytics.com/*", "*googletagmanager.com/*", "*doubleclick.net/*",
+			"*googlesyndication.com/*", "*googleadservices.com/*", "*adservice.google.*",
+			"*connect.facebook.net/*", "*hotjar.com/*", "*clarity.ms/*", "*segment.com/*", "*segment.io/*",
+			"*mixpanel.com/*", "*newrelic.com/*", "*nr-data.net/*", "*intercom.io/*", "*intercomcdn.com/*",
+			"*zdassets.com/*", "*zopim.com/*", "*drift.com/*", "*driftt.com/*", "*livechatinc.com/*",
+			"*tawk.to/*", "*crisp.chat/*", "*youtube.com/embed/*", "*youtube-nocookie.com/embed/*",
+			"*player.vimeo.com/*", "*taboola.com/*", "*outbrain.com/*", "*criteo.com/*");
+	private static final List<String> TEXT_ONLY_TYPES = Arrays.asList("Image", "Media");
+
+	private static final Map<WebDriver, Map<String, Integer>> BLOCKED = Collections
+			.synchronizedMap(new IdentityHashMap<>());
+
+	private RequestBlocker() {
+	}
+
+	/**
+	 * URL patterns of the configured profile (CDP wildcards: * and ?)
+	 */
+	static Set<String> urlPatterns() {
+		Set<String> patterns = new LinkedHashSet<>();
+		if (PROFILE.equals("trackers") || PROFILE.equals("text-only")) {
+			patterns.addAll(TRACKER_PATTERNS);
+		}
+		patterns.addAll(split(EXTRA_URLS));
+		return patterns;
+	}
+
+	/**
+	 * Resource types of the configured profile
+	 */
+	static Set<String> resourceTypes() {
+		Set<String> types = new LinkedHashSet<>();
+		if (PROFILE.equals("text-only")) {
+			types.addAll(TEXT_ONLY_TYPES);
+		}
+		types.addAll(split(EXTRA_TYPES));
+		return types;
+	}
+
+	/**
+	 * Start blocking on the session. Does nothing when the profile is empty or
+	 * the browser has no DevTools connection.
+	 */
+	static void install(WebDriver driver) {
+		if (!Arrays.asList("none", "trackers", "text-only").contains(PROFILE)) {
+			LOGGER.warning("Unknown qa.blockProfile '" + PROFILE + "' - only qa.blockUrls/qa.blockTypes apply");
+		}
+		Set<String> patterns = urlPatterns();
+		Set<String> types = resourceTypes();
+		if (patterns.isEmpty() && types.isEmpty()) {
+			return;
+		}
+		if (!(driver instanceof HasDevTools)) {
+			LOGGER.warning("Request blocking needs DevTools - loading every request");
+			return;
+		}
+		List<Map<String, Object>> fetchPatterns = new ArrayList<>();
+		for (String pattern : patterns) {
+			fetchPatterns.add(fetchPattern(pattern, null));
+		}
+		for (String type : types) {
+			fetchPatterns.add(fetchPattern("*", type));
+		}
+		try {
+			DevTools devTools = ((HasDevTools) driver).getDevTools();
+			devTools.createSessionIfThereIsNotOne();
+			Map<String, Integer> counts = new TreeMap<>();
+			BLOCKED.put(driver, counts);
+			devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused",
+					input -> input.read(Json.MAP_TYPE)), paused -> block(devTools, paused, counts));
+			Map<String, Object> params = new HashMap<>();
+			params.put("patterns", fetchPatterns);
+			devTools.send(new Command<>("Fetch.enable", params));
+			LOGGER.info("Blocking requests (profile " + PROFILE + "): " + patterns.size() + " URL pattern(s), "
+					+ (types.isEmpty() ? "no resource types" : "resource types " + types));
+		} catch (Exception e) {
+			BLOCKED.remove(driver);
+			LOGGER.warning("Could not enable request blocking: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Requests blocked so far by resource type; empty for a session without
+	 * blocking
+	 */
+	static Map<String, Integer> blocked(WebDriver driver) {
+		Map<String, Integer> counts = BLOCKED.get(driver);
+		if (counts == null) {
+			return new TreeMap<>();
+		}
+		synchronized (counts) {
+			return new TreeMap<>(counts);
+		}
+	}
+
+	/**
+	 * "N (X Image, Y Script)" for the requests blocked between two counts
+	 */
+	static String describe(Map<String, Integer> before, Map<String, Integer> after) {
+		int total = 0;
+		List<String> byType = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : after.entrySet()) {
+			int count = entry.getValue() - before.getOrDefault(entry.getKey(), 0);
+			if (count > 0) {
+				total += count;
+				byType.add(count + " " + entry.getKey());
+			}
+		}
+		return total == 0 ? "0" : total + " (" + String.join(", ", byType) + ")";
+	}
+
+	/**
+	 * Whether the configured profile blocks anything
+	 */
+	static boolean isActive() {
+		return !urlPatterns().isEmpty() || !resourceTypes().isEmpty();
+	}
+
+	/**
+	 * Forget the counts of a driver that has been quit
+	 */
+	static void detach(WebDriver driver) {
+		BLOCKED.remove(driver);
+	}
+
+	private static void block(DevTools devTools, Map<String, Object> paused, Map<String, Integer> counts) {
+		Object type = paused.get("resourceType");
+		synchronized (counts) {
+			counts.merge(type != null ? type.toString() : "Other", 1, Integer::sum);
+		}
+		Map<String, Object> params = new HashMap<>();
+		params.put("requestId", paused.get("requestId"));
+		params.put("errorReason", "BlockedByClient");
+		try {
+			// Called on the DevTools connection thread, so do not wait for the reply
+			devTools.send(new Command<>("Fetch.failRequest", params).doesNotSendResponse());
+		} catch (Exception e) {
+			LOGGER.fine("Could not block request " + paused.get("requestId") + ": " + e.getMessage());
+		}
+	}
+
+	private static Map<String, Object> fetchPattern(String urlPattern, String resourceType) {
+		Map<String, Object> pattern = new HashMap<>();
+		pattern.put("urlPattern", urlPattern);
+		if (resourceType != null) {
+			pattern.put("resourceType", resourceType);
+		}
+		pattern.put("requestStage", "Request");
+		return pattern;
+	}
+
+	private static List<String> split(String list) {
+		List<String> values = new ArrayList<>();
+		for (String value : list.split(",")) {
+			if (!value.trim().isEmpty()) {
+				values.add(value.trim());
+			}
+		}
+		return values;
+	}
+}
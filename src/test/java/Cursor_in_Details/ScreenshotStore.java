@@ -0,0 +1,198 @@
+package Cursor_in_Details;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Holds the encoded screenshots between capture and report, outside the Java
+ * heap: in direct buffers up to MEMORY_BUDGET, beyond that in a temp file
+ * that is deleted on exit. Report data keeps only a small Handle per
+ * screenshot, so auditing long pages at every resolution does not fill the
+ * heap. Direct memory is given back when its handle is no longer referenced;
+ * the spill file is emptied again once none of its screenshots is referenced.
+ * One store is shared by all audits of the JVM.
+ */
+class ScreenshotStore {
+
+	private static final Logger LOGGER = Logger.getLogger(ScreenshotStore.class.getName());
+
+	// Direct memory for screenshots before they spill to disk; -Dqa.screenshotMemoryMb=N
+	static final long MEMORY_BUDGET = Long.getLong("qa.screenshotMemoryMb", 128) * 1024 * 1024;
+
+	private static final ScreenshotStore INSTANCE = new ScreenshotStore();
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/**
+	 * Handle of a missing screenshot; read() returns no bytes
+	 */
+	static final Handle EMPTY = new Handle(null, -1, 0);
+
+	private final AtomicLong inMemory = new AtomicLong();
+	private final AtomicLong stored = new AtomicLong();
+	private final AtomicLong spilled = new AtomicLong();
+	// Guarded by this
+	private FileChannel spillFile;
+	private long spillEnd = 0;
+	// Spilled screenshots whose handle is still referenced
+	private int liveSpills = 0;
+
+	private ScreenshotStore() {
+	}
+
+	static ScreenshotStore get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Where one screenshot is kept: a buffer, or a range of the spill file
+	 */
+	static final class Handle {
+		private final ByteBuffer buffer;
+		private final long offset;
+		final int length;
+
+		private Handle(ByteBuffer buffer, long offset, int length) {
+			this.buffer = buffer;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		/**
+		 * A copy of the image bytes, for as long as the caller needs them
+		 */
+		byte[] read() {
+			try {
+				return INSTANCE.read(this);
+			} finally {
+				// Keep the handle reachable until the copy is done, so its Cleaner
+				// cannot release (and truncate) the spill file under the read
+				Reference.reachabilityFence(this);
+			}
+		}
+	}
+
+	/**
+	 * Keep the image and return its handle; the array is not referenced
+	 * afterwards
+	 */
+	Handle put(byte[] image) {
+		if (image == null || image.length == 0) {
+			return EMPTY;
+		}
+		stored.incrementAndGet();
+		if (inMemory.addAndGet(image.length) <= MEMORY_BUDGET) {
+			try {
+				ByteBuffer buffer = ByteBuffer.allocateDirect(image.length);
+				buffer.put(image).flip();
+				Handle handle = new Handle(buffer, -1, image.length);
+				long size = image.length;
+				CLEANER.register(handle, () -> inMemory.addAndGet(-size));
+				return handle;
+			} catch (OutOfMemoryError e) {
+				// Direct memory limit of the JVM is below the budget
+				LOGGER.fine("No direct memory left for screenshot, spilling to disk");
+			}
+		}
+		inMemory.addAndGet(-image.length);
+		try {
+			return spill(image);
+		} catch (IOException e) {
+			LOGGER.warning("Could not spill screenshot to disk, keeping it on the heap: " + e.getMessage());
+			return new Handle(ByteBuffer.wrap(image), -1, image.length);
+		}
+	}
+
+	/**
+	 * "N screenshot(s), X MB in memory, Y MB spilled to disk" for the log
+	 */
+	String summary() {
+		return stored.get() + " screenshot(s), " + inMemory.get() / (1024 * 1024) + " MB in memory, "
+				+ spilled.get() / (1024 * 1024) + " MB spilled to disk";
+	}
+
+	private Handle spill(byte[] image) throws IOException {
+		FileChannel channel;
+		long offset;
+		synchronized (this) {
+			if (spillFile == null) {
+				Path file = Files.createTempFile("qa-screenshots", ".bin");
+				file.toFile().deleteOnExit();
+				spillFile = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+						StandardOpenOption.DELETE_ON_CLOSE);
+				LOGGER.info("Screenshot memory budget of " + MEMORY_BUDGET / (1024 * 1024) + " MB used up, spilling to "
+						+ file);
+			}
+			channel = spillFile;
+			offset = spillEnd;
+			spillEnd += image.length;
+			liveSpills++;
+		}
+		// Positional writes to reserved ranges need no lock
+		ByteBuffer source = ByteBuffer.wrap(image);
+		try {
+			while (source.hasRemaining()) {
+				channel.write(source, offset + source.position());
+			}
+		} catch (IOException e) {
+			releaseSpill();
+			throw e;
+		}
+		spilled.addAndGet(image.length);
+		Handle handle = new Handle(null, offset, image.length);
+		CLEANER.register(handle, this::releaseSpill);
+		return handle;
+	}
+
+	/**
+	 * One spilled screenshot is gone; when it was the last, start the file over
+	 * so a long crawl does not keep growing it
+	 */
+	private synchronized void releaseSpill() {
+		if (--liveSpills > 0 || spillFile == null) {
+			return;
+		}
+		try {
+			spillFile.truncate(0);
+			spillEnd = 0;
+		} catch (IOException e) {
+			// Keep appending after the old data
+			LOGGER.fine("Could not truncate screenshot spill file: " + e.getMessage());
+		}
+	}
+
+	private byte[] read(Handle handle) {
+		byte[] image = new byte[handle.length];
+		if (handle.buffer != null) {
+			// Duplicate, so concurrent readers do not share a position
+			handle.buffer.duplicate().get(image);
+			return image;
+		}
+		if (handle.length == 0) {
+			return image;
+		}
+		FileChannel channel;
+		synchronized (this) {
+			channel = spillFile;
+		}
+		ByteBuffer target = ByteBuffer.wrap(image);
+		try {
+			while (target.hasRemaining()) {
+				if (channel.read(target, handle.offset + target.position()) < 0) {
+					throw new IOException("spill file ends early");
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warning("Could not read spilled screenshot: " + e.getMessage());
+			return new byte[0];
+		}
+		return image;
+	}
+}
@@ -0,0 +1,395 @@
+package Cursor_in_Details;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Breadth-first crawler for one site. Several workers pull pages from a
+ * shared, de-duplicating frontier, hand each page to a PageVisitor (a browser
+ * audit, an HTTP fetch, ...) and queue the same-host links it returns. The
+ * frontier is seeded from the start URL and the site's sitemap.xml; depth,
+ * page count and the delay between requests to the host are limited. Progress
+ * is checkpointed to disk so an interrupted crawl can be resumed. Tools with
+ * their own needs pass their own Limits.
+ */
+public class SiteCrawler {
+
+	private static final Logger LOGGER = Logger.getLogger(SiteCrawler.class.getName());
+
+	// Crawl limits; -Dqa.crawlMaxDepth=N, -Dqa.crawlMaxPages=N, -Dqa.crawlWorkers=N,
+	// -Dqa.crawlDelayMs=N (minimum gap between two page requests to the host),
+	// -Dqa.crawlSitemap=false to start from the start URL only
+	static final int MAX_DEPTH = Integer.getInteger("qa.crawlMaxDepth", 2);
+	static final int MAX_PAGES = Integer.getInteger("qa.crawlMaxPages", 50);
+	static final int WORKERS = Integer.getInteger("qa.crawlWorkers", 2);
+	static final long CRAWL_DELAY_MS = Long.getLong("qa.crawlDelayMs", 500);
+	static final boolean USE_SITEMAP = Boolean.parseBoolean(System.getProperty("qa.crawlSitemap", "true"));
+
+	private static final int MAX_SITEMAPS = 20;
+	// Links to files rather than pages are checked as links but never crawled
+	private static final Pattern NON_PAGE = Pattern.compile(
+			"(?i).*\\.(pdf|jpe?g|png|gif|svg|webp|ico|zip|gz|rar|7z|mp3|mp4|mov|avi|webm|docx?|xlsx?|pptx?|css|js|xml|json|txt)$");
+
+	/**
+	 * Handles one page of the crawl and returns the links found on it. Called
+	 * from the worker threads - several pages are visited at the same time.
+	 */
+	public interface PageVisitor {
+		PageResult visit(String url, int depth) throws Exception;
+	}
+
+	/**
+	 * What a visit found: the links to follow, and a short result of the page
+	 * (e.g. the number of resolutions audited). The result is written to the
+	 * checkpoint, so a resumed crawl still has it for the pages done before.
+	 */
+	public static final class PageResult {
+		final List<String> links;
+		final String result;
+
+		public PageResult(List<String> links, String result) {
+			this.links = links;
+			this.result = result == null ? "" : result;
+		}
+	}
+
+	/**
+	 * How far a crawl may go and what it does besides following links
+	 */
+	public static final class Limits {
+		/**
+		 * The -Dqa.crawl* settings
+		 */
+		public static final Limits DEFAULT = new Limits(MAX_DEPTH, MAX_PAGES, CRAWL_DELAY_MS, USE_SITEMAP, true);
+		/**
+		 * Every linked page of the host, as fast as the visitor goes: no
+		 * sitemap seeding and no checkpoint
+		 */
+		public static final Limits UNLIMITED = new Limits(Integer.MAX_VALUE, Integer.MAX_VALUE, 0, false, false);
+
+		final int maxDepth;
+		final int maxPages;
+		final long delayMs;
+		final boolean sitemap;
+		final boolean checkpoint;
+
+		public Limits(int maxDepth, int maxPages, long delayMs, boolean sitemap, boolean checkpoint) {
+			this.maxDepth = maxDepth;
+			this.maxPages = maxPages;
+			this.delayMs = delayMs;
+			this.sitemap = sitemap;
+			this.checkpoint = checkpoint;
+		}
+	}
+
+	private static class CrawlTarget {
+		final String url;
+		final int depth;
+
+		CrawlTarget(String url, int depth) {
+			this.url = url;
+			this.depth = depth;
+		}
+	}
+
+	private final String startUrl;
+	private final String host;
+	private final int workers;
+	private final Limits limits;
+	private final PageVisitor visitor;
+	private final BlockingQueue<CrawlTarget> frontier = new LinkedBlockingQueue<>();
+	private final Set<String> seen = ConcurrentHashMap.newKeySet();
+	private final List<String> visited = Collections.synchronizedList(new ArrayList<>());
+	private final Map<String, String> failed = new ConcurrentHashMap<>();
+	private final Map<String, String> results = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger claimedPages = new AtomicInteger();
+	private final Object politenessLock = new Object();
+	private long nextRequestAt = 0;
+	private CrawlCheckpoint checkpoint;
+
+	public SiteCrawler(String startUrl, int workers, PageVisitor visitor) {
+		this(startUrl, workers, Limits.DEFAULT, visitor);
+	}
+
+	public SiteCrawler(String startUrl, int workers, Limits limits, PageVisitor visitor) {
+		this.startUrl = startUrl;
+		this.host = hostOf(startUrl);
+		this.workers = Math.max(1, workers);
+		this.limits = limits;
+		this.visitor = visitor;
+	}
+
+	/**
+	 * Crawl until the frontier is empty or the page limit is reached.
+	 * Returns the visited pages in the order they finished.
+	 */
+	public List<String> crawl() throws InterruptedException {
+		checkpoint = limits.checkpoint ? CrawlCheckpoint.open(host) : null;
+		try {
+			if (checkpoint != null && CrawlCheckpoint.RESUME && resumeFromCheckpoint()) {
+				return runWorkers();
+			}
+			enqueue(startUrl, 0);
+			seedFromSitemap();
+			return runWorkers();
+		} finally {
+			if (checkpoint != null) {
+				checkpoint.close();
+			}
+		}
+	}
+
+	/**
+	 * Rebuild the frontier from the checkpoint: pages that finished in the
+	 * previous run are not visited again, failed pages are retried until they
+	 * used up CrawlCheckpoint.MAX_ATTEMPTS. False when there is nothing to
+	 * resume from.
+	 */
+	private boolean resumeFromCheckpoint() {
+		CrawlCheckpoint.State state = checkpoint.load();
+		if (state.queued.isEmpty()) {
+			return false;
+		}
+		for (Map.Entry<String, Integer> page : state.queued.entrySet()) {
+			seen.add(LinkStatusCache.normalize(page.getKey()));
+			if (state.finished(page.getKey())) {
+				claimedPages.incrementAndGet();
+				if (!state.done.containsKey(page.getKey())) {
+					failed.put(page.getKey(), state.failed.get(page.getKey()));
+				}
+			} else {
+				inFlight.incrementAndGet();
+				frontier.add(new CrawlTarget(page.getKey(), page.getValue()));
+			}
+		}
+		visited.addAll(state.done.keySet());
+		results.putAll(state.done);
+		LOGGER.info("Resuming crawl of " + host + ": " + state.done.size() + " page(s) already done, "
+				+ failed.size() + " given up after " + CrawlCheckpoint.MAX_ATTEMPTS + " failures, " + frontier.size()
+				+ " still queued");
+		return true;
+	}
+
+	private void seedFromSitemap() {
+		if (limits.sitemap) {
+			int seeded = 0;
+			for (String url : sitemapUrls()) {
+				if (enqueue(url, 0)) {
+					seeded++;
+				}
+			}
+			LOGGER.info("Seeded crawl frontier with " + seeded + " page(s) from sitemap.xml");
+		}
+	}
+
+	private List<String> runWorkers() throws InterruptedException {
+		LOGGER.info("Crawling " + host + " with " + workers + " worker(s), max depth " + limitText(limits.maxDepth)
+				+ ", max pages " + limitText(limits.maxPages));
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			for (int i = 0; i < workers; i++) {
+				executor.submit(this::work);
+			}
+			executor.shutdown();
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				LOGGER.info("Crawl in progress: " + visited.size() + " page(s) visited, " + frontier.size()
+						+ " queued");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		LOGGER.info("Crawl finished: " + visited.size() + " page(s) visited, " + failed.size() + " failed");
+		return new ArrayList<>(visited);
+	}
+
+	/**
+	 * Result of every visited page, including the pages a resumed crawl
+	 * replayed from the checkpoint
+	 */
+	public Map<String, String> pageResults() {
+		return results;
+	}
+
+	/**
+	 * Pages whose visit threw, with the error message
+	 */
+	public Map<String, String> failedPages() {
+		return failed;
+	}
+
+	private void work() {
+		try {
+			while (true) {
+				CrawlTarget target = frontier.poll(200, TimeUnit.MILLISECONDS);
+				if (target == null) {
+					// Done when nothing is queued and no other worker can still add links
+					if (inFlight.get() == 0 && frontier.isEmpty()) {
+						return;
+					}
+					continue;
+				}
+				try {
+					if (claimedPages.incrementAndGet() <= limits.maxPages) {
+						visit(target);
+					}
+				} finally {
+					inFlight.decrementAndGet();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void visit(CrawlTarget target) throws InterruptedException {
+		waitForPoliteness();
+		LOGGER.info("Crawling (depth " + target.depth + "): " + target.url);
+		PageResult page;
+		try {
+			page = visitor.visit(target.url, target.depth);
+		} catch (InterruptedException e) {
+			throw e;
+		} catch (Exception e) {
+			LOGGER.warning("Failed to crawl " + target.url + ": " + e.getMessage());
+			failed.put(target.url, String.valueOf(e.getMessage()));
+			if (checkpoint != null) {
+				checkpoint.failed(target.url, String.valueOf(e.getMessage()));
+			}
+			return;
+		}
+		// Queue the new links before marking the page done, so a resume never loses them
+		if (page != null && page.links != null && target.depth < limits.maxDepth) {
+			for (String link : page.links) {
+				enqueue(link, target.depth + 1);
+			}
+		}
+		String result = page == null ? "" : page.result;
+		results.put(target.url, result);
+		visited.add(target.url);
+		if (checkpoint != null) {
+			checkpoint.done(target.url, result);
+		}
+	}
+
+	/**
+	 * Queue the URL unless it is off-site, not a page, or already known
+	 */
+	private boolean enqueue(String url, int depth) {
+		if (url == null || !url.startsWith("http") || NON_PAGE.matcher(pathOf(url)).matches()) {
+			return false;
+		}
+		if (!host.equalsIgnoreCase(hostOf(url))) {
+			return false;
+		}
+		// The frontier never holds more pages than the crawl may visit
+		if (seen.size() >= limits.maxPages || !seen.add(LinkStatusCache.normalize(url))) {
+			return false;
+		}
+		int fragment = url.indexOf('#');
+		String pageUrl = fragment >= 0 ? url.substring(0, fragment) : url;
+		inFlight.incrementAndGet();
+		frontier.add(new CrawlTarget(pageUrl, depth));
+		if (checkpoint != null) {
+			checkpoint.queued(pageUrl, depth);
+		}
+		return true;
+	}
+
+	/**
+	 * Space the page requests to the host the limits' delay apart, whichever worker
+	 * sends them
+	 */
+	private void waitForPoliteness() throws InterruptedException {
+		long waitMillis;
+		synchronized (politenessLock) {
+			long now = System.currentTimeMillis();
+			long slot = Math.max(now, nextRequestAt);
+			nextRequestAt = slot + limits.delayMs;
+			waitMillis = slot - now;
+		}
+		if (waitMillis > 0) {
+			Thread.sleep(waitMillis);
+		}
+	}
+
+	/**
+	 * Page URLs from the site's sitemap.xml, following sitemap indexes (at most
+	 * MAX_SITEMAPS files). Missing or unreadable sitemaps give an empty list.
+	 */
+	private List<String> sitemapUrls() {
+		List<String> pages = new ArrayList<>();
+		String origin;
+		try {
+			URI uri = new URI(startUrl);
+			origin = uri.getScheme() + "://" + uri.getRawAuthority();
+		} catch (URISyntaxException e) {
+			return pages;
+		}
+
+		List<String> sitemaps = new ArrayList<>();
+		sitemaps.add(origin + "/sitemap.xml");
+		for (int i = 0; i < sitemaps.size() && i < MAX_SITEMAPS; i++) {
+			try {
+				Document sitemap = Jsoup.connect(sitemaps.get(i))
+						.userAgent(StaticPage.USER_AGENT)
+						.timeout(15000)
+						.ignoreContentType(true)
+						.parser(Parser.xmlParser())
+						.get();
+				for (Element loc : sitemap.select("sitemap > loc")) {
+					sitemaps.add(loc.text().trim());
+				}
+				for (Element loc : sitemap.select("url > loc")) {
+					pages.add(loc.text().trim());
+				}
+			} catch (IOException e) {
+				LOGGER.fine("No sitemap at " + sitemaps.get(i) + ": " + e.getMessage());
+			}
+		}
+		return pages;
+	}
+
+	private static String limitText(int limit) {
+		return limit == Integer.MAX_VALUE ? "unlimited" : String.valueOf(limit);
+	}
+
+	private static String hostOf(String url) {
+		try {
+			String host = new URI(url.trim()).getHost();
+			return host != null ? host : "";
+		} catch (URISyntaxException e) {
+			return "";
+		}
+	}
+
+	private static String pathOf(String url) {
+		try {
+			String path = new URI(url.trim()).getPath();
+			return path != null ? path : "";
+		} catch (URISyntaxException e) {
+			return url;
+		}
+	}
+}
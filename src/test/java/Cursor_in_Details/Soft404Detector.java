@@ -0,0 +1,186 @@
+package Cursor_in_Details;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Detects error pages served with status 200 by streaming the start of the
+ * body through an Aho-Corasick automaton of the soft-404 phrases. At most
+ * BYTE_BUDGET bytes are read, decoded in small chunks, and reading stops at
+ * the first match - memory per check is a few kilobytes whatever the size of
+ * the response.
+ */
+class Soft404Detector {
+
+	// Bytes of the body inspected per link; -Dqa.soft404ByteBudget=N
+	static final int BYTE_BUDGET = Integer.getInteger("qa.soft404ByteBudget", 256 * 1024);
+	private static final int CHUNK_CHARS = 4096;
+
+	// Any of these alone marks the page as a soft 404
+	private static final String[] PHRASES = { "404 not found", "page not found",
+			"the page you requested was not found", "error 404", "http 404", "page cannot be found",
+			"file not found", "resource not found", "nothing was found", "page does not exist" };
+	// These two only count together
+	private static final String CODE = "404";
+	private static final String NOT_FOUND = "not found";
+
+	private static final int PHRASE = 1;
+	private static final int CODE_SEEN = 2;
+	private static final int NOT_FOUND_SEEN = 4;
+
+	// Automaton states: goto transitions, failure links and the flags of every
+	// pattern ending in the state (including those reached through failure links)
+	private static final List<Map<Character, Integer>> GOTO = new ArrayList<>();
+	private static final List<Integer> FAIL = new ArrayList<>();
+	private static final List<Integer> OUTPUT = new ArrayList<>();
+
+	static {
+		newState();
+		for (String phrase : PHRASES) {
+			addPattern(phrase, PHRASE);
+		}
+		addPattern(CODE, CODE_SEEN);
+		addPattern(NOT_FOUND, NOT_FOUND_SEEN);
+		buildFailureLinks();
+	}
+
+	private Soft404Detector() {
+	}
+
+	/**
+	 * Whether the content type can hold an HTML error page. Binary downloads
+	 * (PDF, images, archives) are not read at all.
+	 */
+	static boolean isTextContent(String mediaType) {
+		if (mediaType == null || mediaType.isEmpty()) {
+			return true;
+		}
+		String type = mediaType.toLowerCase();
+		return type.startsWith("text/") || type.contains("html") || type.contains("xml") || type.contains("json");
+	}
+
+	/**
+	 * Scan the first BYTE_BUDGET bytes of the stream. The caller closes the
+	 * stream; the rest of the body is never read.
+	 */
+	static boolean isSoft404(InputStream body, Charset charset) throws IOException {
+		Reader reader = new InputStreamReader(new BoundedInputStream(body, BYTE_BUDGET), charset);
+		char[] chunk = new char[CHUNK_CHARS];
+		int state = 0;
+		int seen = 0;
+		int read;
+		while ((read = reader.read(chunk)) != -1) {
+			for (int i = 0; i < read; i++) {
+				char c = chunk[i];
+				// Lines were joined without separators before, keep matching the same way
+				if (c == '\n' || c == '\r') {
+					continue;
+				}
+				state = step(state, Character.toLowerCase(c));
+				seen |= OUTPUT.get(state);
+				if ((seen & PHRASE) != 0 || (seen & (CODE_SEEN | NOT_FOUND_SEEN)) == (CODE_SEEN | NOT_FOUND_SEEN)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static int step(int state, char c) {
+		while (true) {
+			Integer next = GOTO.get(state).get(c);
+			if (next != null) {
+				return next;
+			}
+			if (state == 0) {
+				return 0;
+			}
+			state = FAIL.get(state);
+		}
+	}
+
+	private static int newState() {
+		GOTO.add(new HashMap<>());
+		FAIL.add(0);
+		OUTPUT.add(0);
+		return GOTO.size() - 1;
+	}
+
+	private static void addPattern(String pattern, int flag) {
+		int state = 0;
+		for (char c : pattern.toCharArray()) {
+			Integer next = GOTO.get(state).get(c);
+			if (next == null) {
+				next = newState();
+				GOTO.get(state).put(c, next);
+			}
+			state = next;
+		}
+		OUTPUT.set(state, OUTPUT.get(state) | flag);
+	}
+
+	private static void buildFailureLinks() {
+		Queue<Integer> queue = new ArrayDeque<>(GOTO.get(0).values());
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			for (Map.Entry<Character, Integer> edge : GOTO.get(state).entrySet()) {
+				int child = edge.getValue();
+				int fallback = FAIL.get(state);
+				while (fallback != 0 && !GOTO.get(fallback).containsKey(edge.getKey())) {
+					fallback = FAIL.get(fallback);
+				}
+				Integer target = GOTO.get(fallback).get(edge.getKey());
+				int fail = target != null && target != child ? target : 0;
+				FAIL.set(child, fail);
+				OUTPUT.set(child, OUTPUT.get(child) | OUTPUT.get(fail));
+				queue.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Reports end of stream once the budget is used up
+	 */
+	private static class BoundedInputStream extends InputStream {
+		private final InputStream in;
+		private long remaining;
+
+		BoundedInputStream(InputStream in, long limit) {
+			this.in = in;
+			this.remaining = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int b = in.read();
+			if (b != -1) {
+				remaining--;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+			if (read > 0) {
+				remaining -= read;
+			}
+			return read;
+		}
+	}
+}
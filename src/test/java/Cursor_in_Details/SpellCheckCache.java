@@ -0,0 +1,235 @@
+package Cursor_in_Details;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import Cursor_in_Details.StyleGuide_ValidatorQA.GrammarIssue;
+
+/**
+ * Spelling results keyed by a SHA-256 of the normalized text chunk. Lookups go
+ * through an in-memory LRU first and then a directory on disk, so unchanged
+ * text is not sent through LanguageTool again - neither for the next
+ * resolution nor for the next run. Entries live in a sub-directory named after
+ * the LanguageTool fingerprint; a new version, rule set or allow-list starts
+ * an empty directory and the old ones are deleted.
+ */
+class SpellCheckCache {
+
+	private static final Logger LOGGER = Logger.getLogger(SpellCheckCache.class.getName());
+
+	// -Dqa.spellCache=false turns the cache off, -Dqa.cacheDir moves it
+	static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("qa.spellCache", "true"));
+	static final String CACHE_DIR = System.getProperty("qa.cacheDir", ".qa-cache");
+	private static final int MEMORY_ENTRIES = Integer.getInteger("qa.spellCacheEntries", 10000);
+
+	private static SpellCheckCache instance;
+
+	private final Path directory;
+	private final Map<String, List<GrammarIssue>> memory;
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	private SpellCheckCache(Path directory) {
+		this.directory = directory;
+		this.memory = Collections.synchronizedMap(new LinkedHashMap<String, List<GrammarIssue>>(256, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<GrammarIssue>> eldest) {
+				return size() > MEMORY_ENTRIES;
+			}
+		});
+	}
+
+	/**
+	 * The cache for the given LanguageTool fingerprint, null when caching is
+	 * disabled
+	 */
+	static synchronized SpellCheckCache forFingerprint(String fingerprint) {
+		if (!ENABLED) {
+			return null;
+		}
+		if (instance == null || !instance.directory.getFileName().toString().equals(fingerprint)) {
+			Path root = Paths.get(CACHE_DIR, "spelling");
+			deleteStaleGenerations(root, fingerprint);
+			instance = new SpellCheckCache(root.resolve(fingerprint));
+		}
+		return instance;
+	}
+
+	/**
+	 * Cached issues for the chunk, or null if it has not been checked yet with
+	 * the current configuration
+	 */
+	List<GrammarIssue> lookup(String chunk) {
+		String key = key(chunk);
+		List<GrammarIssue> issues = memory.get(key);
+		if (issues == null) {
+			issues = readFromDisk(key);
+			if (issues != null) {
+				memory.put(key, issues);
+			}
+		}
+		if (issues != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return issues;
+	}
+
+	void put(String chunk, List<GrammarIssue> issues) {
+		String key = key(chunk);
+		List<GrammarIssue> copy = Collections.unmodifiableList(new ArrayList<>(issues));
+		memory.put(key, copy);
+		writeToDisk(key, copy);
+	}
+
+	String stats() {
+		return hits.get() + " hit(s), " + misses.get() + " miss(es)";
+	}
+
+	/**
+	 * Whitespace differences do not change the spelling result
+	 */
+	static String normalize(String chunk) {
+		return chunk.trim().replaceAll("\\s+", " ");
+	}
+
+	private static String key(String chunk) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(normalize(chunk).getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+			for (byte b : hash) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private Path file(String key) {
+		return directory.resolve(key.substring(0, 2)).resolve(key + ".txt");
+	}
+
+	/**
+	 * One issue per line, fields separated by tabs (escaped)
+	 */
+	private List<GrammarIssue> readFromDisk(String key) {
+		Path file = file(key);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		List<GrammarIssue> issues = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				String[] fields = line.split("\t", -1);
+				if (fields.length != 5) {
+					LOGGER.warning("Ignoring corrupt spelling cache entry " + file);
+					return null;
+				}
+				issues.add(new GrammarIssue(unescape(fields[0]), unescape(fields[1]), unescape(fields[2]),
+						unescape(fields[3]), unescape(fields[4])));
+			}
+		} catch (IOException e) {
+			LOGGER.fine("Could not read spelling cache entry " + file + ": " + e.getMessage());
+			return null;
+		}
+		return Collections.unmodifiableList(issues);
+	}
+
+	private void writeToDisk(String key, List<GrammarIssue> issues) {
+		Path file = file(key);
+		try {
+			Files.createDirectories(file.getParent());
+			// Write to a temp file and move it in place so readers never see half an entry
+			Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				for (GrammarIssue issue : issues) {
+					writer.write(escape(issue.context) + "\t" + escape(issue.suggestion) + "\t" + escape(issue.message)
+							+ "\t" + escape(issue.elementType) + "\t" + escape(issue.fullText));
+					writer.newLine();
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOGGER.warning("Could not write spelling cache entry " + file + ": " + e.getMessage());
+		}
+	}
+
+	private static void deleteStaleGenerations(Path root, String fingerprint) {
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		try (DirectoryStream<Path> generations = Files.newDirectoryStream(root)) {
+			for (Path generation : generations) {
+				if (!generation.getFileName().toString().equals(fingerprint)) {
+					LOGGER.info("Spelling configuration changed - deleting cached results in " + generation);
+					deleteRecursively(generation);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warning("Could not clean up spelling cache: " + e.getMessage());
+		}
+	}
+
+	private static void deleteRecursively(Path path) throws IOException {
+		try (Stream<Path> paths = Files.walk(path)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+				try {
+					Files.delete(p);
+				} catch (IOException e) {
+					LOGGER.fine("Could not delete " + p + ": " + e.getMessage());
+				}
+			});
+		}
+	}
+
+	private static String escape(String value) {
+		if (value == null) {
+			return "\\0";
+		}
+		return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String value) {
+		if (value.equals("\\0")) {
+			return null;
+		}
+		StringBuilder sb = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				char next = value.charAt(++i);
+				sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
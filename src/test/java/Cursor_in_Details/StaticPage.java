@@ -0,0 +1,197 @@
+package Cursor_in_Details;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import Cursor_in_Details.StyleGuide_ValidatorQA.LinkInfo;
+
+/**
+ * A page fetched over plain HTTP and parsed with jsoup, for the static audit
+ * engine. Gives the same headings, links, paragraphs, images and spelling
+ * text as the browser audit, without computed styles, screenshots or any
+ * JavaScript-rendered content.
+ */
+class StaticPage {
+
+	static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+	private static final int TIMEOUT_MS = 30000;
+
+	// Same containers extractMainContent looks for in the browser
+	private static final String[] MAIN_CONTENT_SELECTORS = { "article", "main", "[role='main']", ".content",
+			"#content", ".main-content", "#main-content", ".article", "#article" };
+
+	final String url;
+	final Document document;
+
+	private StaticPage(String url, Document document) {
+		this.url = url;
+		this.document = document;
+	}
+
+	/**
+	 * GET the page (following redirects) and parse it. Throws for error statuses
+	 * and non-HTML content.
+	 */
+	static StaticPage fetch(String url) throws IOException {
+		Connection.Response response = Jsoup.connect(url)
+				.userAgent(USER_AGENT)
+				.timeout(TIMEOUT_MS)
+				.followRedirects(true)
+				.maxBodySize(0)
+				.execute();
+		return new StaticPage(response.url().toString(), response.parse());
+	}
+
+	String title() {
+		return document.title();
+	}
+
+	/**
+	 * Content of the meta description, null when the page has none
+	 */
+	String metaDescription() {
+		Element meta = document.selectFirst("meta[name=description]");
+		return meta != null && meta.hasAttr("content") ? meta.attr("content") : null;
+	}
+
+	/**
+	 * Headings, buttons, links, paragraphs and images mapped by the same rules
+	 * as the in-browser extraction script
+	 */
+	DomSnapshot snapshot() {
+		Map<String, Object> result = new HashMap<>();
+		List<Map<String, Object>> headings = new ArrayList<>();
+		List<Map<String, Object>> paragraphs = new ArrayList<>();
+		List<Map<String, Object>> buttons = new ArrayList<>();
+		List<Map<String, Object>> links = new ArrayList<>();
+		List<Map<String, Object>> images = new ArrayList<>();
+
+		int position = 0;
+		for (Element el : document.select("h1, h2, h3, h4, h5, h6")) {
+			Map<String, Object> record = base(el, position++);
+			record.put("tag", el.normalName());
+			headings.add(record);
+		}
+		for (Element el : document.select("p")) {
+			paragraphs.add(base(el, position++));
+		}
+		for (Element el : document.select("button")) {
+			buttons.add(control(el, position++));
+		}
+		for (Element el : document.select("a")) {
+			Map<String, Object> record = control(el, position++);
+			record.put("href", el.hasAttr("href") ? el.absUrl("href") : "");
+			links.add(record);
+		}
+		for (Element img : document.select("img")) {
+			Map<String, Object> record = new HashMap<>();
+			record.put("src", img.hasAttr("src") ? img.absUrl("src") : null);
+			record.put("dataSrc", attrOrNull(img, "data-src"));
+			record.put("srcset", attrOrNull(img, "srcset"));
+			record.put("alt", img.attr("alt"));
+			record.put("title", img.attr("title"));
+			record.put("width", attrOrNull(img, "width"));
+			record.put("height", attrOrNull(img, "height"));
+			images.add(record);
+		}
+
+		result.put("headings", headings);
+		result.put("paragraphs", paragraphs);
+		result.put("buttons", buttons);
+		result.put("links", links);
+		result.put("images", images);
+		return DomSnapshot.fromRecords(result);
+	}
+
+	/**
+	 * The http(s) links of the page with absolute hrefs, one per URL, for the
+	 * broken link check - the same list PageLinks reads in the browser. Without
+	 * layout every link counts as visible.
+	 */
+	List<LinkInfo> links() {
+		List<LinkInfo> links = new ArrayList<>();
+		for (Element a : document.select("a[href], area[href]")) {
+			String href = a.absUrl("href");
+			if (href.matches("(?i)^https?:.*")) {
+				String text = a.text().trim();
+				links.add(new LinkInfo(href, text.isEmpty() ? a.attr("aria-label").trim() : text, a.attr("rel"), true));
+			}
+		}
+		return PageLinks.deduplicate(links);
+	}
+
+	/**
+	 * Readable text for the spelling check: main content containers, else the
+	 * paragraphs, plus all headings - same priority as extractMainContent
+	 */
+	String mainContent() {
+		StringBuilder mainContent = new StringBuilder();
+		boolean foundMainContent = false;
+		for (String selector : MAIN_CONTENT_SELECTORS) {
+			for (Element element : document.select(selector)) {
+				String text = element.text();
+				if (text.trim().length() > 100) { // Only substantial content
+					mainContent.append(text).append("\n");
+					foundMainContent = true;
+				}
+			}
+			if (foundMainContent) {
+				break;
+			}
+		}
+
+		if (!foundMainContent || mainContent.length() < 200) {
+			for (Element para : document.select("p")) {
+				String text = para.text();
+				if (text.trim().length() > 20) { // Filter very short paragraphs
+					mainContent.append(text.trim()).append("\n");
+				}
+			}
+		}
+
+		Elements headings = document.select("h1, h2, h3, h4, h5, h6");
+		for (Element heading : headings) {
+			String text = heading.text();
+			if (!text.trim().isEmpty()) {
+				mainContent.append(text.trim()).append("\n");
+			}
+		}
+		return mainContent.toString();
+	}
+
+	private static Map<String, Object> base(Element el, int position) {
+		Map<String, Object> record = new HashMap<>();
+		record.put("text", el.text().trim());
+		record.put("id", el.id());
+		// No layout without a browser - the document position keeps elements apart
+		record.put("x", position);
+		record.put("y", 0);
+		return record;
+	}
+
+	private static Map<String, Object> control(Element el, int position) {
+		Map<String, Object> record = base(el, position);
+		record.put("ariaLabel", attrOrNull(el, "aria-label"));
+		record.put("title", attrOrNull(el, "title"));
+		Element img = el.selectFirst("img");
+		if (img != null) {
+			record.put("hasImg", true);
+			record.put("imgAlt", attrOrNull(img, "alt"));
+			record.put("imgSrc", img.hasAttr("src") ? img.absUrl("src") : null);
+		}
+		return record;
+	}
+
+	private static String attrOrNull(Element el, String name) {
+		return el.hasAttr(name) ? el.attr(name) : null;
+	}
+}
@@ -1,8 +1,5 @@
 package Cursor_in_Details;
 
-import org.languagetool.JLanguageTool;
-import org.languagetool.language.AmericanEnglish;
-import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 import org.openqa.selenium.*;
 import org.openqa.selenium.NoSuchElementException;
@@ -10,6 +7,7 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -18,6 +16,7 @@ import org.openqa.selenium.TimeoutException;
 import org.testng.annotations.*;
 import org.testng.Assert;
 
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.io.IOException;
 import java.net.HttpURLConnection;
@@ -34,17 +33,29 @@ import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.Base64;
+import javax.imageio.ImageIO;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.interactions.Actions;
 
 public class StyleGuide_ValidatorQA {
 
 	private WebDriver driver;
-	private WebDriverWait wait;
-	private List<WebsiteData> websiteDataList = new ArrayList<>();
-	private Map<String, WebsiteData> resolutionDataMap = new LinkedHashMap<>();
-	private static final int LINK_CHECK_THREADS = 10;
+	private DriverPool resolutionDriverPool;
+	// Both collections are written from the resolution workers when the driver
+	// pool runs resolutions in parallel
+	private List<WebsiteData> websiteDataList = Collections.synchronizedList(new ArrayList<>());
+	private Map<String, WebsiteData> resolutionDataMap = Collections.synchronizedMap(new LinkedHashMap<>());
+	// Resolutions audited by runSiteAudit, resumed pages included; the page data
+	// itself is released after each report
+	private int siteResolutionCount = 0;
+	// Per-URL results (title, meta, spelling, broken links) shared by all resolutions of an audit
+	private final Map<String, CompletableFuture<PageFindings>> pageFindingsByUrl = new ConcurrentHashMap<>();
+	// Upper bound for waiting on the link checks of one page
+	private static final int LINK_CHECK_TIMEOUT_MINUTES = 2;
+	// Upper bound for a resolution waiting on the page checks run by another one
+	private static final int PAGE_FINDINGS_TIMEOUT_MINUTES = 10;
+	// Links that need this many redirects or more are flagged as long chains in the report
+	private static final int LONG_REDIRECT_CHAIN = 3;
 	private static final Logger LOGGER = Logger.getLogger(StyleGuide_ValidatorQA.class.getName());
 
 	// Test URL - Change this URL to test different websites
@@ -69,6 +80,42 @@ public class StyleGuide_ValidatorQA {
 		}
 	};
 
+	// Number of browser sessions used to audit the resolutions in parallel.
+	// Each session is a full Chrome process, so the default stays at half the
+	// cores; override with -Dqa.driverPoolSize=N (1 = audit one resolution at a time)
+	private static final int DRIVER_POOL_SIZE = Integer.getInteger("qa.driverPoolSize",
+			Math.max(1, Math.min(SCREEN_SIZES.size(), Runtime.getRuntime().availableProcessors() / 2)));
+
+	// How the audit moves between SCREEN_SIZES:
+	//   reload  - resize the window and load the page again for every resolution (default)
+	//   emulate - load the page once and switch the viewport with DevTools device-metrics
+	//             overrides, re-collecting only the layout-dependent data
+	// Override with -Dqa.viewportMode=emulate
+	private static final String VIEWPORT_MODE = System.getProperty("qa.viewportMode", "reload");
+
+	// Audit engine:
+	//   browser - audit every resolution in Chrome (default)
+	//   static  - fetch the HTML over plain HTTP and parse it with jsoup. Gives title,
+	//             meta description, headings, links, image alts, spelling and broken
+	//             links without starting Chrome, but no computed styles or screenshots
+	// Override with -Dqa.engine=static
+	private static final String AUDIT_ENGINE = System.getProperty("qa.engine", "browser");
+
+	// How element screenshots are taken:
+	//   crop      - capture the whole page once (in bands for tall pages) and cut every
+	//               element out of it, drawing the highlight in Java2D (default)
+	//   highlight - scroll to every element, outline it in the page and take a
+	//               viewport screenshot per element
+	// Override with -Dqa.screenshotEngine=highlight
+	private static final String SCREENSHOT_ENGINE = System.getProperty("qa.screenshotEngine", "crop");
+	private static final String STATIC_RESOLUTION_NAME = "Static HTML";
+
+	// Audit the whole site instead of TEST_URL alone: crawl from TEST_URL (and the
+	// site's sitemap.xml) and write a report for every page found. Limits are set
+	// with -Dqa.crawlMaxDepth, -Dqa.crawlMaxPages and -Dqa.crawlWorkers.
+	// Enable with -Dqa.crawl=true
+	private static final boolean CRAWL_SITE = Boolean.getBoolean("qa.crawl");
+
 	// Resolutions that should NOT have SEO Information section
 	// Note: Only include resolutions that are also present in SCREEN_SIZES above
 	// If you comment out a resolution in SCREEN_SIZES, remove it from here as well
@@ -257,7 +304,68 @@ public class StyleGuide_ValidatorQA {
 	}
 
 	public void runQAAuditForAllResolutions(String url) throws Exception {
+		pageFindingsByUrl.clear();
+		if ("static".equalsIgnoreCase(AUDIT_ENGINE)) {
+			runStaticAudit(url);
+			generateDashboardHTML();
+			return;
+		}
 		LOGGER.info("Starting QA audit for all screen resolutions...");
+		if ("emulate".equalsIgnoreCase(VIEWPORT_MODE) && SCREEN_SIZES.size() > 1) {
+			runResolutionsWithEmulation(url);
+		} else if (DRIVER_POOL_SIZE > 1 && SCREEN_SIZES.size() > 1) {
+			runResolutionsInParallel(url);
+		} else {
+			runResolutionsSequentially(url);
+		}
+		generateDashboardHTML();
+	}
+
+	/**
+	 * Audit the URL without a browser: fetch the HTML, parse it with jsoup and
+	 * run the SEO, spelling and broken link checks on it. The result is recorded
+	 * under the "Static HTML" resolution.
+	 */
+	public void runStaticAudit(String url) throws Exception {
+		LOGGER.info("Starting static (browserless) audit for: " + url);
+		long startNanos = System.nanoTime();
+		StaticPage page;
+		try {
+			page = StaticPage.fetch(url);
+		} catch (IOException e) {
+			LOGGER.warning("Failed to fetch page for URL: " + url + ". Error: " + e.getMessage());
+			websiteDataList.add(new WebsiteData(url, "No data found", "No data found", new HashMap<>(),
+					new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), ScreenshotStore.EMPTY,
+					new ArrayList<>()));
+			return;
+		}
+		long fetchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+		String pageTitle = page.title();
+		String pageMetaDescription = page.metaDescription();
+		String title = pageTitle != null && !pageTitle.isEmpty() ? pageTitle : "No data found";
+		String metaDescription = pageMetaDescription != null ? pageMetaDescription : "No data found";
+
+		DomSnapshot snapshot = page.snapshot();
+		List<GrammarIssue> grammarIssues = checkSpelling(page.mainContent(), pageMetaDescription, pageTitle,
+				snapshot.paragraphs);
+		List<LinkInfo> links = page.links();
+		List<RedirectChain> redirectChains = new ArrayList<>();
+		List<BrokenLink> brokenLinks = checkLinks(links, page.url, redirectChains);
+
+		WebsiteData websiteData = new WebsiteData(page.url, title, metaDescription, snapshot.headers,
+				snapshot.buttons, snapshot.paragraphs, grammarIssues, brokenLinks, ScreenshotStore.EMPTY,
+				new ArrayList<>(snapshot.images));
+		websiteData.linkedUrls = absoluteLinks(links, page.url);
+		websiteData.redirectChains = redirectChains;
+		websiteData.auditMetrics.put("Engine", "static HTML (no browser, no computed styles)");
+		websiteData.auditMetrics.put("Fetch and parse", fetchMillis + " ms");
+		websiteData.auditMetrics.put("Total", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
+		recordResolutionData(new ScreenSize(STATIC_RESOLUTION_NAME, 0, 0, "HTML fetched without a browser"),
+				websiteData);
+	}
+
+	private void runResolutionsSequentially(String url) {
 		for (ScreenSize screenSize : SCREEN_SIZES) {
 			LOGGER.info("Analyzing at resolution: " + screenSize.name + " (" + screenSize.width + "x"
 					+ screenSize.height + ")");
@@ -268,277 +376,433 @@ public class StyleGuide_ValidatorQA {
 				// Continue with next resolution even if one fails
 			}
 		}
-		generateDashboardHTML();
 	}
 
-	public void runQAAudit(String url) throws Exception {
-		runQAAudit(url, new ScreenSize("1920 × 1080", 1920, 1080, "Most popular desktop resolution"));
-		// Generate HTML report for single resolution
-		generateDashboardHTML();
-	}
-
-	public void runQAAudit(String url, ScreenSize screenSize) throws Exception {
-		if (driver == null) {
-			// Ensure WebDriverManager logging is suppressed (already done in static init, but ensure it's still off)
-			Logger wdmLogger = Logger.getLogger("io.github.bonigarcia.wdm");
-			wdmLogger.setLevel(Level.OFF);
-			WebDriverManager.chromedriver().setup();
-			ChromeOptions options = new ChromeOptions();
-			options.addArguments("--disable-dev-shm-usage");
-			options.addArguments("--disable-gpu");
-			options.addArguments("--remote-allow-origins=*");
-			options.addArguments("--headless=new");
-			// Suppress ChromeDriver startup messages
-			options.addArguments("--log-level=3"); // Only fatal errors
-			options.addArguments("--silent");
-			driver = new ChromeDriver(options);
-			wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+	/**
+	 * Load the page once and walk SCREEN_SIZES with Chrome DevTools device-metrics
+	 * overrides instead of a full reload per resolution. Falls back to the reload
+	 * path when DevTools is not available or the site varies its HTML by user agent.
+	 */
+	private void runResolutionsWithEmulation(String url) throws Exception {
+		ensureLiveDriver();
+		if (!(driver instanceof HasCdp)) {
+			LOGGER.warning("DevTools not available for this browser - reloading the page for every resolution");
+			runResolutionsSequentially(url);
+			return;
 		}
-
-		// Set the window size for this resolution
-		driver.manage().window().setSize(new Dimension(screenSize.width, screenSize.height));
-
-		try {
-			driver.get(url);
-			wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
-			wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.xpath("//p | //a")));
-		} catch (TimeoutException e) {
-			LOGGER.warning("Failed to load page body for URL: " + url + ". Error: " + e.getMessage());
-			websiteDataList.add(new WebsiteData(url, "No data found", "No data found", new HashMap<>(),
-					new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), "", new ArrayList<>()));
-			generateDashboardHTML();
+		if (variesByUserAgent(url)) {
+			LOGGER.warning("Site varies its HTML by user agent - reloading the page for every resolution");
+			runResolutionsSequentially(url);
 			return;
 		}
 
-		String exactUrl = driver.getCurrentUrl();
-		String title = "No data found";
+		HasCdp cdp = (HasCdp) driver;
+		boolean pageLoaded = false;
 		try {
-			title = driver.getTitle() != null ? driver.getTitle() : "No data found";
-		} catch (Exception e) {
-			LOGGER.warning("Failed to retrieve page title for URL: " + url + ". Error: " + e.getMessage());
-		}
-		String metaDescription = "No data found";
-		try {
-			WebElement metaDesc = driver.findElement(By.xpath("//meta[@name='description']"));
-			metaDescription = metaDesc.getAttribute("content") != null ? metaDesc.getAttribute("content")
-					: "No data found";
-		} catch (NoSuchElementException ex) {
-			LOGGER.warning("Meta description not found for URL: " + url);
-		} catch (Exception e) {
-			LOGGER.warning("Error retrieving meta description for URL: " + url + ". Error: " + e.getMessage());
-		}
-
-		Map<String, List<HeadingElement>> headers = new HashMap<>();
-		for (int i = 1; i <= 6; i++) {
-			String tag = "h" + i;
-			List<HeadingElement> headingElements = new ArrayList<>();
-			try {
-				List<WebElement> elements = driver.findElements(By.tagName(tag));
-				for (WebElement el : elements) {
-					headingElements.add(extractHeadingStyle(el, tag));
+			for (ScreenSize screenSize : SCREEN_SIZES) {
+				LOGGER.info("Analyzing at emulated resolution: " + screenSize.name + " (" + screenSize.width + "x"
+						+ screenSize.height + ")");
+				try {
+					emulateViewport(cdp, screenSize);
+					WebsiteData websiteData;
+					if (!pageLoaded) {
+						// First resolution loads the page and runs every check
+						websiteData = auditResolution(driver, url, screenSize);
+						if (websiteData == null) {
+							continue;
+						}
+						pageLoaded = true;
+					} else {
+						waitForLayoutToSettle(driver, screenSize);
+						websiteData = collectResolutionData(driver, url, screenSize);
+					}
+					recordResolutionData(screenSize, websiteData);
+				} catch (Exception e) {
+					LOGGER.warning("Failed to analyze resolution " + screenSize.name + ": " + e.getMessage());
+					// Continue with next resolution even if one fails
 				}
+			}
+		} finally {
+			try {
+				cdp.executeCdpCommand("Emulation.clearDeviceMetricsOverride", new HashMap<>());
 			} catch (Exception e) {
-				LOGGER.warning("Error retrieving " + tag + " headings for URL: " + url + ". Error: " + e.getMessage());
+				LOGGER.fine("Could not clear device metrics override: " + e.getMessage());
 			}
-			headers.put(tag, headingElements);
 		}
+	}
 
-		List<ButtonOrLink> buttons = new ArrayList<>();
-		Set<String> processedElements = new HashSet<>();
+	/**
+	 * Switch the layout viewport to the given screen size through DevTools. Only
+	 * the viewport changes - same as resizing the window - so the user agent and
+	 * touch emulation stay untouched.
+	 */
+	private void emulateViewport(HasCdp cdp, ScreenSize screenSize) {
+		Map<String, Object> metrics = new HashMap<>();
+		metrics.put("width", screenSize.width);
+		metrics.put("height", screenSize.height);
+		metrics.put("deviceScaleFactor", 0); // 0 keeps the browser default
+		metrics.put("mobile", false);
+		cdp.executeCdpCommand("Emulation.setDeviceMetricsOverride", metrics);
+	}
 
+	/**
+	 * Scroll to the top and wait until the new viewport width is applied and the
+	 * document height has stopped changing for a few animation frames (max 3s)
+	 */
+	private void waitForLayoutToSettle(WebDriver driver, ScreenSize screenSize) {
 		try {
-			for (WebElement btn : driver.findElements(By.tagName("button"))) {
-				String elementId = btn.getAttribute("id") + btn.getLocation().toString();
-				if (!processedElements.contains(elementId)) {
-					ButtonOrLink button = extractButtonOrLink(btn, "button");
-					if (button.text != null && !button.text.isEmpty() && !button.text.contains("Icon")) {
-						buttons.add(button);
-						processedElements.add(elementId);
-					}
-				}
+			driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(5));
+			Boolean settled = (Boolean) ((JavascriptExecutor) driver).executeAsyncScript(
+					"var expectedWidth = arguments[0]; var done = arguments[arguments.length - 1]; "
+							+ "window.scrollTo(0, 0); "
+							+ "var deadline = Date.now() + 3000; var lastHeight = -1; var stableFrames = 0; "
+							+ "function check() { "
+							+ "  var height = document.documentElement.scrollHeight; "
+							+ "  if (window.innerWidth === expectedWidth && height === lastHeight) { stableFrames++; } "
+							+ "  else { stableFrames = 0; } "
+							+ "  lastHeight = height; "
+							+ "  if (stableFrames >= 3) { done(true); } "
+							+ "  else if (Date.now() > deadline) { done(false); } "
+							+ "  else { requestAnimationFrame(check); } "
+							+ "} "
+							+ "requestAnimationFrame(check);",
+					screenSize.width);
+			if (!Boolean.TRUE.equals(settled)) {
+				LOGGER.warning("Layout did not settle within 3s after switching to " + screenSize.name);
 			}
 		} catch (Exception e) {
-			LOGGER.warning("Error retrieving buttons for URL: " + url + ". Error: " + e.getMessage());
+			LOGGER.warning("Error waiting for layout to settle: " + e.getMessage());
 		}
+	}
 
+	/**
+	 * Check the Vary header of the page. Sites that vary by user agent or client
+	 * hints may serve different HTML per device, so the page has to be reloaded
+	 * per resolution instead of only switching the viewport.
+	 */
+	private boolean variesByUserAgent(String url) {
+		HttpURLConnection connection = null;
 		try {
-			List<WebElement> links = driver.findElements(By.tagName("a"));
-			LOGGER.info("Total links found: " + links.size());
-			for (WebElement link : links) {
-				String href = link.getAttribute("href");
-				String text = link.getText();
-				LOGGER.fine("Link href: " + href + ", Text: " + text);
-				String elementId = link.getAttribute("id") + link.getLocation().toString();
-				if (!processedElements.contains(elementId)) {
-					ButtonOrLink button = extractButtonOrLink(link, "a");
-					if (button.text != null && !button.text.isEmpty()) {
-						buttons.add(button);
-						processedElements.add(elementId);
-					}
-				}
+			connection = (HttpURLConnection) new URL(url).openConnection();
+			connection.setRequestMethod("HEAD");
+			connection.setConnectTimeout(15000);
+			connection.setReadTimeout(15000);
+			connection.setRequestProperty("User-Agent",
+					"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+			connection.getResponseCode();
+			String vary = connection.getHeaderField("Vary");
+			if (vary == null) {
+				return false;
 			}
+			String lowerVary = vary.toLowerCase();
+			return lowerVary.contains("user-agent") || lowerVary.contains("sec-ch-ua-mobile")
+					|| lowerVary.contains("viewport-width");
 		} catch (Exception e) {
-			LOGGER.warning("Error retrieving links for URL: " + url + ". Error: " + e.getMessage());
-		}
-
-		List<ParagraphStyle> paragraphs = new ArrayList<>();
-		try {
-			List<WebElement> allParagraphs = driver.findElements(By.xpath("//p"));
-			LOGGER.info("Total <p> tags found: " + allParagraphs.size());
-			for (WebElement para : driver.findElements(By.tagName("p"))) {
-				paragraphs.add(extractParagraphStyle(para));
+			LOGGER.fine("Could not read Vary header for " + url + ": " + e.getMessage());
+			return false;
+		} finally {
+			if (connection != null) {
+				connection.disconnect();
 			}
-		} catch (Exception e) {
-			LOGGER.warning("Error retrieving paragraphs for URL: " + url + ". Error: " + e.getMessage());
 		}
+	}
 
-		// Step 1: Main content extraction (Readability-based)
-		String mainContent = extractMainContent(driver);
-		LOGGER.info("Extracted main content: " + mainContent.length() + " characters");
-		
-		// Step 2: Text cleanup + Lorem detection
-		mainContent = cleanupText(mainContent);
-		if (isLoremIpsum(mainContent)) {
-			LOGGER.warning("Detected Lorem Ipsum placeholder text - skipping spelling check");
-			mainContent = ""; // Skip Lorem Ipsum content
+	/**
+	 * Audit every enabled resolution at the same time, each on its own browser
+	 * session borrowed from a DriverPool. Results are stored in SCREEN_SIZES order
+	 * so the dashboard tabs keep the same order as a sequential run.
+	 */
+	private void runResolutionsInParallel(String url) throws InterruptedException {
+		int poolSize = Math.min(DRIVER_POOL_SIZE, SCREEN_SIZES.size());
+		LOGGER.info("Auditing " + SCREEN_SIZES.size() + " resolutions in parallel on " + poolSize
+				+ " browser sessions");
+
+		ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+		Map<ScreenSize, Future<WebsiteData>> futures = new LinkedHashMap<>();
+		// Kept until teardown so a site audit reuses the sessions for every page
+		if (resolutionDriverPool == null) {
+			resolutionDriverPool = new DriverPool(poolSize, StyleGuide_ValidatorQA::createChromeDriver);
 		}
-		
-		// Also extract meta description and title (important for SEO)
-		String metaDescText = "";
-		String titleText = "";
+		DriverPool driverPool = resolutionDriverPool;
 		try {
-			WebElement metaDesc = driver.findElement(By.xpath("//meta[@name='description']"));
-			String metaContent = metaDesc.getAttribute("content");
-			if (metaContent != null && !metaContent.trim().isEmpty()) {
-				metaDescText = cleanupText(metaContent.trim());
+			for (ScreenSize screenSize : SCREEN_SIZES) {
+				futures.put(screenSize, executor.submit(() -> {
+					WebDriver pooledDriver = driverPool.borrow();
+					try {
+						LOGGER.info("Analyzing at resolution: " + screenSize.name + " (" + screenSize.width + "x"
+								+ screenSize.height + ")");
+						return auditResolution(pooledDriver, url, screenSize);
+					} finally {
+						driverPool.release(pooledDriver);
+					}
+				}));
 			}
-		} catch (Exception e) {
-			LOGGER.fine("Meta description not found");
-		}
 
-		try {
-			String pageTitleValue = driver.getTitle();
-			if (pageTitleValue != null && !pageTitleValue.trim().isEmpty()) {
-				titleText = cleanupText(pageTitleValue.trim());
-			}
-		} catch (Exception e) {
-			LOGGER.fine("Page title not found");
-		}
-		
-		// Step 3: Chunk text (800-2000 chars per chunk)
-		List<String> textChunks = new ArrayList<>();
-		if (!mainContent.isEmpty()) {
-			textChunks.addAll(chunkText(mainContent, 800, 2000));
-		}
-		if (!metaDescText.isEmpty()) {
-			textChunks.add(metaDescText);
-		}
-		if (!titleText.isEmpty()) {
-			textChunks.add(titleText);
-		}
-		
-		// Also add individual paragraph texts to ensure all displayed content is checked
-		// This ensures paragraphs shown in the report are also spell-checked
-		for (ParagraphStyle para : paragraphs) {
-			if (para != null && para.text != null && !para.text.trim().isEmpty() 
-					&& !para.text.equals("Not available") && para.text.trim().length() > 10) {
-				String paraText = cleanupText(para.text.trim());
-				if (!paraText.isEmpty() && !textChunks.contains(paraText)) {
-					// Only add if it's not already included in mainContent
-					// Check if this paragraph text is already in mainContent
-					boolean alreadyIncluded = false;
-					if (!mainContent.isEmpty() && mainContent.contains(para.text.substring(0, Math.min(50, para.text.length())))) {
-						alreadyIncluded = true;
-					}
-					if (!alreadyIncluded) {
-						textChunks.add(paraText);
-						LOGGER.fine("Added paragraph text to spelling check: " + paraText.substring(0, Math.min(50, paraText.length())) + "...");
+			for (Map.Entry<ScreenSize, Future<WebsiteData>> entry : futures.entrySet()) {
+				ScreenSize screenSize = entry.getKey();
+				try {
+					WebsiteData websiteData = entry.getValue().get();
+					if (websiteData != null) {
+						recordResolutionData(screenSize, websiteData);
 					}
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause() != null ? e.getCause() : e;
+					LOGGER.warning("Failed to analyze resolution " + screenSize.name + ": " + cause.getMessage());
+					// Continue with next resolution even if one fails
 				}
 			}
+		} finally {
+			executor.shutdownNow();
 		}
-		
-		LOGGER.info("Created " + textChunks.size() + " text chunks for spelling checking");
-		if (textChunks.isEmpty()) {
-			LOGGER.warning("WARNING: No text content available for spelling checking!");
+	}
+
+	/**
+	 * Crawl the site from the start URL and run the full audit on every page
+	 * found, with one report per page. Each crawl worker keeps its own auditor
+	 * (and browser sessions) for all the pages it visits. Page data, screenshots
+	 * included, is dropped once the page's report is written; only the number
+	 * of audited resolutions is kept, as the page's result in the crawl
+	 * checkpoint, and summed up in siteResolutionCount.
+	 */
+	public List<String> runSiteAudit(String startUrl) throws Exception {
+		List<StyleGuide_ValidatorQA> auditors = Collections.synchronizedList(new ArrayList<>());
+		ThreadLocal<StyleGuide_ValidatorQA> workerAuditor = ThreadLocal.withInitial(() -> {
+			StyleGuide_ValidatorQA auditor = new StyleGuide_ValidatorQA();
+			auditors.add(auditor);
+			return auditor;
+		});
+
+		SiteCrawler crawler = new SiteCrawler(startUrl, SiteCrawler.WORKERS, (pageUrl, depth) -> {
+			StyleGuide_ValidatorQA auditor = workerAuditor.get();
+			auditor.setUpClass(); // Fresh report data for every page
+			auditor.runQAAuditForAllResolutions(pageUrl);
+			Set<String> links = new LinkedHashSet<>();
+			for (WebsiteData data : auditor.websiteDataList) {
+				links.addAll(data.linkedUrls);
+			}
+			int resolutions = auditor.websiteDataList.size();
+			// The report is written - let the page's data and screenshots be released
+			auditor.websiteDataList.clear();
+			auditor.resolutionDataMap.clear();
+			return new SiteCrawler.PageResult(new ArrayList<>(links), String.valueOf(resolutions));
+		});
+
+		List<String> pages;
+		try {
+			pages = crawler.crawl();
+		} finally {
+			for (StyleGuide_ValidatorQA auditor : auditors) {
+				auditor.tearDownClass();
+			}
 		}
-		
-		// Step 4-7: Run spelling check with new logic
-		List<GrammarIssue> grammarIssues = parallelGrammarCheck(textChunks);
-		LOGGER.info("Spelling check completed. Found " + grammarIssues.size() + " spelling error(s)");
-		
-		// Log details about detected issues for debugging
-		if (grammarIssues.size() > 0) {
-			LOGGER.info("=== SPELLING ERRORS DETECTED ===");
-			for (GrammarIssue issue : grammarIssues) {
-				LOGGER.info("  - Error: '" + issue.context + "' -> '" + issue.suggestion + "' in " + issue.elementType);
+		siteResolutionCount = 0;
+		for (String result : crawler.pageResults().values()) {
+			try {
+				siteResolutionCount += Integer.parseInt(result);
+			} catch (NumberFormatException e) {
+				LOGGER.fine("Ignoring page result without a resolution count: " + result);
 			}
-			LOGGER.info("=================================");
-		} else {
-			LOGGER.info("No spelling errors detected in any of the " + textChunks.size() + " text chunks");
 		}
+		LOGGER.info("Site audit finished: " + pages.size() + " page(s) audited, " + siteResolutionCount
+				+ " resolution(s), " + crawler.failedPages().size() + " failed");
+		return pages;
+	}
 
-		// Collect all links for broken link checking (including hidden ones, as they
-		// might still have 404 URLs)
-		List<WebElement> validLinks = new ArrayList<>();
-		try {
-			List<WebElement> allLinks = driver.findElements(By.tagName("a"));
-			LOGGER.info("Total links found on page: " + allLinks.size());
+	public void runQAAudit(String url) throws Exception {
+		pageFindingsByUrl.clear();
+		runQAAudit(url, new ScreenSize("1920 × 1080", 1920, 1080, "Most popular desktop resolution"));
+		// Generate HTML report for single resolution
+		generateDashboardHTML();
+	}
 
-			for (WebElement link : allLinks) {
-				try {
-					String href = link.getAttribute("href");
-					String linkText = link.getText() != null ? link.getText().trim() : "";
+	public void runQAAudit(String url, ScreenSize screenSize) throws Exception {
+		ensureLiveDriver();
 
-					if (href == null || href.isEmpty()) {
-						LOGGER.fine("Skipping link with no href (Text: " + linkText + ")");
-						continue;
-					}
+		WebsiteData websiteData = auditResolution(driver, url, screenSize);
+		if (websiteData == null) {
+			generateDashboardHTML();
+			return;
+		}
+		recordResolutionData(screenSize, websiteData);
+	}
 
-					// Filter out non-HTTP links but keep anchor links that might have paths
-					if (href.startsWith("javascript:") || href.startsWith("mailto:") || href.startsWith("tel:")) {
-						LOGGER.fine("Skipping non-HTTP link: " + href);
-						continue;
-					}
+	/**
+	 * Start this auditor's own session, or replace it when its browser died -
+	 * a crawl worker reuses one auditor, and so one session, for all its pages
+	 */
+	private void ensureLiveDriver() {
+		if (driver != null && !DriverPool.isAlive(driver)) {
+			LOGGER.warning("Browser session is no longer responding - replacing it");
+			quitDriver(driver);
+			driver = null;
+		}
+		if (driver == null) {
+			driver = createChromeDriver();
+		}
+	}
 
-					// Only skip pure anchor links (#), but keep links with paths before #
-					if (href.equals("#") || href.equals("javascript:void(0)")) {
-						LOGGER.fine("Skipping pure anchor link: " + href);
-						continue;
-					}
+	/**
+	 * Store the result of one resolution. Safe to call from the resolution workers.
+	 */
+	private void recordResolutionData(ScreenSize screenSize, WebsiteData websiteData) {
+		websiteDataList.add(websiteData);
+		resolutionDataMap.put(screenSize.name, websiteData);
+	}
 
-					// Include all other links (including those with # anchors after a path)
-					validLinks.add(link);
-					LOGGER.fine("Added link to check: " + href + " (Text: " + linkText + ")");
+	/**
+	 * Start a headless Chrome session with the options used for every audit
+	 */
+	static WebDriver createChromeDriver() {
+		// Ensure WebDriverManager logging is suppressed (already done in static init, but ensure it's still off)
+		Logger wdmLogger = Logger.getLogger("io.github.bonigarcia.wdm");
+		wdmLogger.setLevel(Level.OFF);
+		synchronized (StyleGuide_ValidatorQA.class) {
+			WebDriverManager.chromedriver().setup();
+		}
+		ChromeOptions options = new ChromeOptions();
+		options.addArguments("--disable-dev-shm-usage");
+		options.addArguments("--disable-gpu");
+		options.addArguments("--remote-allow-origins=*");
+		options.addArguments("--headless=new");
+		// Suppress ChromeDriver startup messages
+		options.addArguments("--log-level=3"); // Only fatal errors
+		options.addArguments("--silent");
+		// Count every command the session sends so the report can show the round trips per resolution
+		WebDriver driver = WebDriverCallCounter.attach(new ChromeDriver(options));
+		RequestBlocker.install(driver);
+		return driver;
+	}
 
-				} catch (Exception e) {
-					LOGGER.warning("Error processing link element: " + e.getMessage());
-				}
-			}
-			LOGGER.info("Valid links collected for broken link check: " + validLinks.size());
+	/**
+	 * Quit a session started by createChromeDriver and forget its per-session
+	 * state, also when quit() fails. False if quit() failed.
+	 */
+	static boolean quitDriver(WebDriver driver) {
+		try {
+			driver.quit();
+			return true;
 		} catch (Exception e) {
-			LOGGER.warning("Error filtering valid links: " + e.getMessage());
+			LOGGER.warning("Error closing WebDriver: " + e.getMessage());
+			return false;
+		} finally {
+			WebDriverCallCounter.detach(driver);
+			PageWaits.detach(driver);
+			NetworkIdleTracker.detach(driver);
+			RequestBlocker.detach(driver);
+		}
+	}
+
+	/**
+	 * Audit one URL at one resolution on the given browser session. Returns null
+	 * when the page could not be loaded (a placeholder entry is added to
+	 * websiteDataList in that case). Does not touch resolutionDataMap, so it can
+	 * run on several pooled sessions at once.
+	 */
+	private WebsiteData auditResolution(WebDriver driver, String url, ScreenSize screenSize) throws Exception {
+		WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(NetworkIdleTracker.READY_TIMEOUT_SECONDS));
+
+		// Set the window size for this resolution
+		driver.manage().window().setSize(new Dimension(screenSize.width, screenSize.height));
+
+		Map<String, Integer> blockedBefore = RequestBlocker.blocked(driver);
+		NetworkIdleTracker.Readiness readiness;
+		try {
+			// Ready once the load event fired, the network is idle and web fonts are loaded
+			readiness = NetworkIdleTracker.load(driver, url);
+			wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
+		} catch (TimeoutException e) {
+			LOGGER.warning("Failed to load page body for URL: " + url + ". Error: " + e.getMessage());
+			websiteDataList.add(new WebsiteData(url, "No data found", "No data found", new HashMap<>(),
+					new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), ScreenshotStore.EMPTY,
+					new ArrayList<>()));
+			return null;
+		}
+		if (readiness.idle) {
+			LOGGER.info("Page ready after " + readiness);
+		} else {
+			LOGGER.warning("Page not idle after " + readiness + " - auditing it as it is: " + url);
+		}
+
+		WebsiteData websiteData = collectResolutionData(driver, url, screenSize);
+		// Show the load first in the audit metrics
+		Map<String, String> metrics = new LinkedHashMap<>();
+		metrics.put("Page ready", readiness.toString());
+		if (RequestBlocker.isActive()) {
+			metrics.put("Blocked requests (" + RequestBlocker.PROFILE + ")",
+					RequestBlocker.describe(blockedBefore, RequestBlocker.blocked(driver)));
 		}
+		metrics.putAll(websiteData.auditMetrics);
+		websiteData.auditMetrics = metrics;
+		return websiteData;
+	}
 
-		List<BrokenLink> brokenLinks = parallelBrokenLinkCheck(validLinks, exactUrl);
-		LOGGER.info("Broken links detected: " + brokenLinks.size() + " broken link(s) found");
+	/**
+	 * Collect everything for one resolution from the page that is currently loaded
+	 * in the given session. Title, meta description, spelling issues and broken
+	 * links do not depend on the viewport: the first resolution of a URL computes
+	 * them and every other resolution reuses that result, so only styles,
+	 * visibility and screenshots are collected per resolution.
+	 */
+	private WebsiteData collectResolutionData(WebDriver driver, String url, ScreenSize screenSize)
+			throws Exception {
+		long callsAtStart = WebDriverCallCounter.count(driver);
+		PageWaits.Totals waitsAtStart = PageWaits.totals(driver);
+
+		// Headings, paragraphs, buttons, links and images with their styles in one round trip
+		long callsBefore = WebDriverCallCounter.count(driver);
+		DomSnapshot snapshot = DomSnapshot.capture(driver);
+		if (snapshot == null) {
+			LOGGER.warning("Falling back to per-element style extraction for URL: " + url);
+			snapshot = extractStylesPerElement(driver, url);
+		}
+		long styleCalls = WebDriverCallCounter.count(driver) - callsBefore;
+		Map<String, List<HeadingElement>> headers = snapshot.headers;
+		List<ButtonOrLink> buttons = snapshot.buttons;
+		List<ParagraphStyle> paragraphs = snapshot.paragraphs;
+		int styledElements = headers.values().stream().mapToInt(List::size).sum() + buttons.size()
+				+ paragraphs.size();
+		LOGGER.info("Style extraction: " + styledElements + " element(s) in " + styleCalls + " WebDriver call(s)");
+
+		CompletableFuture<PageFindings> findingsFuture = new CompletableFuture<>();
+		CompletableFuture<PageFindings> existingFindings = pageFindingsByUrl.putIfAbsent(url, findingsFuture);
+		boolean computesFindings = existingFindings == null;
+		if (!computesFindings) {
+			findingsFuture = existingFindings;
+		} else {
+			// First resolution of this URL - the other resolutions wait for this result
+			try {
+				findingsFuture.complete(collectPageFindings(driver, url, paragraphs));
+			} catch (Exception e) {
+				findingsFuture.completeExceptionally(e);
+				throw e;
+			} finally {
+				// Never leave the other resolutions waiting, whatever was thrown
+				findingsFuture.completeExceptionally(new IllegalStateException("Page checks did not finish"));
+			}
+		}
 
 		// Extract all other HTML elements
-		List<OtherElement> otherElements = extractOtherElements(driver);
+		List<OtherElement> otherElements = extractOtherElements(driver, snapshot.images);
 
 		// Capture screenshot
-		String screenshotBase64 = "";
+		ScreenshotStore.Handle screenshot = ScreenshotStore.EMPTY;
 		try {
 			TakesScreenshot screenshotDriver = (TakesScreenshot) driver;
-			byte[] screenshotBytes = screenshotDriver.getScreenshotAs(OutputType.BYTES);
-			screenshotBase64 = Base64.getEncoder().encodeToString(screenshotBytes);
+			screenshot = ScreenshotStore.get().put(screenshotDriver.getScreenshotAs(OutputType.BYTES));
 			LOGGER.info("Screenshot captured successfully for resolution: " + screenSize.name);
 		} catch (Exception e) {
 			LOGGER.warning("Failed to capture screenshot: " + e.getMessage());
 		}
 
-		WebsiteData websiteData = new WebsiteData(exactUrl, title, metaDescription, headers, buttons, paragraphs,
-				grammarIssues, brokenLinks, screenshotBase64, otherElements);
+		PageFindings findings = awaitPageFindings(findingsFuture, driver, url, paragraphs);
+		WebsiteData websiteData = new WebsiteData(findings.url, findings.title, findings.metaDescription, headers,
+				buttons, paragraphs, findings.grammarIssues, findings.brokenLinks, screenshot, otherElements);
+		websiteData.auditMetrics.put("Style extraction",
+				styleCalls + " WebDriver call(s) for " + styledElements + " element(s)");
+		websiteData.linkedUrls = findings.linkedUrls;
+		websiteData.redirectChains = findings.redirectChains;
+		websiteData.auditMetrics.put("Spelling and link checks",
+				computesFindings ? "run for this resolution" : "shared with the first resolution of this URL");
 
 		// Capture screenshots with highlighted elements
 		LOGGER.info("Starting to capture element screenshots...");
@@ -591,7 +855,6 @@ public class StyleGuide_ValidatorQA {
 									// Try scrolling to the element to make it visible
 									try {
 										scrollElementIntoView(driver, heading);
-										Thread.sleep(200); // Wait for scroll
 										isVisible = heading.isDisplayed();
 									} catch (Exception scrollEx) {
 										LOGGER.fine(
@@ -1012,6 +1275,7 @@ public class StyleGuide_ValidatorQA {
 			// scrolling
 			Set<String> screenshotCapturedIds = new HashSet<>();
 			int actualScreenshotIndex = 0;
+			PageCapture pageCapture = "crop".equalsIgnoreCase(SCREENSHOT_ENGINE) ? PageCapture.open(driver) : null;
 
 			for (ElementWithPosition elementWithPos : allElements) {
 				try {
@@ -1077,23 +1341,43 @@ public class StyleGuide_ValidatorQA {
 						continue;
 					}
 
-					// Scroll element into view before taking screenshot
-					scrollElementIntoView(driver, element);
-
-					// Small delay to ensure element is stable after scroll
-					Thread.sleep(100);
+					String highlightColor = getHighlightColor(actualScreenshotIndex);
+					Future<ScreenshotStore.Handle> elementScreenshot = null;
+					Map<String, Integer> bounds;
+					if (pageCapture != null) {
+						// Cut the element out of the full-page capture - no scrolling or restyling
+						if (!element.isDisplayed()) {
+							LOGGER.fine("Element " + elementType + " at index " + index + " is not visible, skipping");
+							continue;
+						}
+						bounds = getElementBounds(element);
+						try {
+							BufferedImage crop = pageCapture.crop(bounds.get("x"), bounds.get("y"),
+									bounds.get("width"), bounds.get("height"));
+							// The outline is drawn by the pipeline, after the look-alike check
+							ThumbnailPipeline.Highlight highlight = pageCapture.highlight(bounds.get("x"),
+									bounds.get("y"), bounds.get("width"), bounds.get("height"), highlightColor);
+							elementScreenshot = ThumbnailPipeline.get().submit(() -> crop, highlight);
+						} catch (Exception e) {
+							LOGGER.warning("Could not crop element from page capture, taking a screenshot instead: "
+									+ e.getMessage());
+						}
+					} else {
+						// Scroll element into view before taking screenshot (waits until the scroll has ended)
+						scrollElementIntoView(driver, element);
 
-					// Verify element is still displayed after scroll
-					if (!element.isDisplayed()) {
-						LOGGER.warning("Element " + elementType + " at index " + index
-								+ " is not visible after scroll, skipping");
-						continue;
+						// Verify element is still displayed after scroll
+						if (!element.isDisplayed()) {
+							LOGGER.warning("Element " + elementType + " at index " + index
+									+ " is not visible after scroll, skipping");
+							continue;
+						}
+						bounds = getElementBounds(element);
+					}
+					if (elementScreenshot == null) {
+						// Capture individual screenshot for this element (highlight applied here)
+						elementScreenshot = captureScreenshotWithHighlight(driver, element, highlightColor);
 					}
-
-					// Capture individual screenshot for this element (highlight applied here)
-					String highlightColor = getHighlightColor(actualScreenshotIndex);
-					String elementScreenshotBase64 = captureScreenshotWithHighlight(driver, element, highlightColor);
-					Map<String, Integer> bounds = getElementBounds(element);
 
 					// Get text content for the element
 					String text = "";
@@ -1111,8 +1395,8 @@ public class StyleGuide_ValidatorQA {
 
 					String elementId = elementType + "-" + actualScreenshotIndex;
 					ElementScreenshotData screenshotData = new ElementScreenshotData(elementType, elementId,
-							elementScreenshotBase64, highlightColor, bounds.get("x"), bounds.get("y"),
-							bounds.get("width"), bounds.get("height"), properties,
+							elementScreenshot, highlightColor, bounds.get("x"),
+							bounds.get("y"), bounds.get("width"), bounds.get("height"), properties,
 							text.length() > 100 ? text.substring(0, 100) + "..." : text, actualScreenshotIndex);
 					websiteData.elementScreenshots.add(screenshotData);
 					actualScreenshotIndex++;
@@ -1124,14 +1408,252 @@ public class StyleGuide_ValidatorQA {
 			}
 
 			LOGGER.info("Captured " + websiteData.elementScreenshots.size() + " element screenshots in order");
+			websiteData.auditMetrics.put("Element screenshots", websiteData.elementScreenshots.size()
+					+ (pageCapture != null ? " cropped from " + pageCapture.captureCount() + " page capture(s)"
+							: " individual screenshot(s)"));
 		} catch (Exception e) {
 			LOGGER.warning("Error during element screenshot capture: " + e.getMessage());
 		}
 
-		websiteDataList.add(websiteData);
+		websiteData.auditMetrics.put("Waiting for the page", PageWaits.totals(driver).since(waitsAtStart));
+		websiteData.auditMetrics.put("Resolution total",
+				(WebDriverCallCounter.count(driver) - callsAtStart) + " WebDriver call(s)");
+		return websiteData;
+	}
 
-		// Store data for this resolution
-		resolutionDataMap.put(screenSize.name, websiteData);
+	/**
+	 * Per-URL stage: title, meta description, spelling and broken links of the
+	 * loaded page
+	 */
+	private PageFindings collectPageFindings(WebDriver driver, String url, List<ParagraphStyle> paragraphs)
+			throws InterruptedException {
+		String exactUrl = driver.getCurrentUrl();
+		String title = "No data found";
+		String metaDescription = "No data found";
+		try {
+			title = driver.getTitle() != null ? driver.getTitle() : "No data found";
+		} catch (Exception e) {
+			LOGGER.warning("Failed to retrieve page title for URL: " + url + ". Error: " + e.getMessage());
+		}
+		try {
+			WebElement metaDesc = driver.findElement(By.xpath("//meta[@name='description']"));
+			metaDescription = metaDesc.getAttribute("content") != null ? metaDesc.getAttribute("content")
+					: "No data found";
+		} catch (NoSuchElementException ex) {
+			LOGGER.warning("Meta description not found for URL: " + url);
+		} catch (Exception e) {
+			LOGGER.warning("Error retrieving meta description for URL: " + url + ". Error: " + e.getMessage());
+		}
+
+		List<GrammarIssue> grammarIssues = runSpellingCheck(driver, paragraphs);
+		List<LinkInfo> links = collectLinks(driver);
+		List<RedirectChain> redirectChains = new ArrayList<>();
+		List<BrokenLink> brokenLinks = checkLinks(links, exactUrl, redirectChains);
+		PageFindings findings = new PageFindings(exactUrl, title, metaDescription, grammarIssues, brokenLinks);
+		findings.linkedUrls = absoluteLinks(links, exactUrl);
+		findings.redirectChains = redirectChains;
+		return findings;
+	}
+
+	/**
+	 * Wait for the per-URL stage run by the first resolution (at most
+	 * PAGE_FINDINGS_TIMEOUT_MINUTES). If it failed or took too long, run it again
+	 * on this session so the resolution still gets complete results.
+	 */
+	private PageFindings awaitPageFindings(CompletableFuture<PageFindings> findingsFuture, WebDriver driver,
+			String url, List<ParagraphStyle> paragraphs) throws InterruptedException {
+		try {
+			return findingsFuture.get(PAGE_FINDINGS_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+		} catch (ExecutionException e) {
+			LOGGER.warning("Shared page checks failed for URL: " + url + " - running them for this resolution. Error: "
+					+ e.getCause());
+			return collectPageFindings(driver, url, paragraphs);
+		} catch (java.util.concurrent.TimeoutException e) {
+			LOGGER.warning("Shared page checks for URL: " + url + " did not finish in " + PAGE_FINDINGS_TIMEOUT_MINUTES
+					+ " minutes - running them for this resolution");
+			return collectPageFindings(driver, url, paragraphs);
+		}
+	}
+
+	/**
+	 * Steps 1-7: extract the readable text of the loaded page (plus title, meta
+	 * description and paragraph texts), chunk it and run the spelling check
+	 */
+	private List<GrammarIssue> runSpellingCheck(WebDriver driver, List<ParagraphStyle> paragraphs) {
+		// Step 1: Main content extraction (Readability-based)
+		String mainContent = extractMainContent(driver);
+
+		// Also extract meta description and title (important for SEO)
+		String metaContent = null;
+		String pageTitleValue = null;
+		try {
+			WebElement metaDesc = driver.findElement(By.xpath("//meta[@name='description']"));
+			metaContent = metaDesc.getAttribute("content");
+		} catch (Exception e) {
+			LOGGER.fine("Meta description not found");
+		}
+
+		try {
+			pageTitleValue = driver.getTitle();
+		} catch (Exception e) {
+			LOGGER.fine("Page title not found");
+		}
+
+		return checkSpelling(mainContent, metaContent, pageTitleValue, paragraphs);
+	}
+
+	/**
+	 * Steps 2-7: clean up and chunk the extracted page text and run the spelling
+	 * check. Shared by the browser and the static (jsoup) audit.
+	 */
+	private List<GrammarIssue> checkSpelling(String mainContent, String metaContent, String pageTitleValue,
+			List<ParagraphStyle> paragraphs) {
+		LOGGER.info("Extracted main content: " + mainContent.length() + " characters");
+
+		// Step 2: Text cleanup + Lorem detection
+		mainContent = cleanupText(mainContent);
+		if (isLoremIpsum(mainContent)) {
+			LOGGER.warning("Detected Lorem Ipsum placeholder text - skipping spelling check");
+			mainContent = ""; // Skip Lorem Ipsum content
+		}
+
+		String metaDescText = "";
+		String titleText = "";
+		if (metaContent != null && !metaContent.trim().isEmpty()) {
+			metaDescText = cleanupText(metaContent.trim());
+		}
+		if (pageTitleValue != null && !pageTitleValue.trim().isEmpty()) {
+			titleText = cleanupText(pageTitleValue.trim());
+		}
+		
+		// Step 3: Chunk text (800-2000 chars per chunk)
+		List<String> textChunks = new ArrayList<>();
+		if (!mainContent.isEmpty()) {
+			textChunks.addAll(chunkText(mainContent, 800, 2000));
+		}
+		if (!metaDescText.isEmpty()) {
+			textChunks.add(metaDescText);
+		}
+		if (!titleText.isEmpty()) {
+			textChunks.add(titleText);
+		}
+		
+		// Also add individual paragraph texts to ensure all displayed content is checked
+		// This ensures paragraphs shown in the report are also spell-checked
+		for (ParagraphStyle para : paragraphs) {
+			if (para != null && para.text != null && !para.text.trim().isEmpty() 
+					&& !para.text.equals("Not available") && para.text.trim().length() > 10) {
+				String paraText = cleanupText(para.text.trim());
+				if (!paraText.isEmpty() && !textChunks.contains(paraText)) {
+					// Only add if it's not already included in mainContent
+					// Check if this paragraph text is already in mainContent
+					boolean alreadyIncluded = false;
+					if (!mainContent.isEmpty() && mainContent.contains(para.text.substring(0, Math.min(50, para.text.length())))) {
+						alreadyIncluded = true;
+					}
+					if (!alreadyIncluded) {
+						textChunks.add(paraText);
+						LOGGER.fine("Added paragraph text to spelling check: " + paraText.substring(0, Math.min(50, paraText.length())) + "...");
+					}
+				}
+			}
+		}
+		
+		LOGGER.info("Created " + textChunks.size() + " text chunks for spelling checking");
+		if (textChunks.isEmpty()) {
+			LOGGER.warning("WARNING: No text content available for spelling checking!");
+		}
+		
+		// Step 4-7: Run spelling check with new logic
+		List<GrammarIssue> grammarIssues = parallelGrammarCheck(textChunks);
+		LOGGER.info("Spelling check completed. Found " + grammarIssues.size() + " spelling error(s)");
+		
+		// Log details about detected issues for debugging
+		if (grammarIssues.size() > 0) {
+			LOGGER.info("=== SPELLING ERRORS DETECTED ===");
+			for (GrammarIssue issue : grammarIssues) {
+				LOGGER.info("  - Error: '" + issue.context + "' -> '" + issue.suggestion + "' in " + issue.elementType);
+			}
+			LOGGER.info("=================================");
+		} else {
+			LOGGER.info("No spelling errors detected in any of the " + textChunks.size() + " text chunks");
+		}
+
+		return grammarIssues;
+	}
+
+	/**
+	 * Collect the links of the loaded page (including hidden ones, as they might
+	 * still have 404 URLs) in one script call
+	 */
+	private List<LinkInfo> collectLinks(WebDriver driver) {
+		List<LinkInfo> links = PageLinks.collect(driver);
+		long hidden = links.stream().filter(link -> !link.visible).count();
+		LOGGER.info("Collected " + links.size() + " distinct link(s) in one pass, " + hidden + " of them hidden");
+		return links;
+	}
+
+	/**
+	 * Absolute http(s) URLs of the links, without duplicates, for the site
+	 * crawler. rel="nofollow" links are checked but not crawled.
+	 */
+	private static List<String> absoluteLinks(List<LinkInfo> links, String pageUrl) {
+		Set<String> urls = new LinkedHashSet<>();
+		for (LinkInfo link : links) {
+			if (link.href == null || link.href.isEmpty() || link.isNoFollow()) {
+				continue;
+			}
+			try {
+				String resolved = new URL(new URL(pageUrl), link.href).toString();
+				if (resolved.startsWith("http")) {
+					urls.add(resolved);
+				}
+			} catch (MalformedURLException e) {
+				LOGGER.fine("Ignoring malformed link " + link.href + " on " + pageUrl);
+			}
+		}
+		return new ArrayList<>(urls);
+	}
+
+	/**
+	 * Drop links that cannot be checked (no href, javascript:, mailto:, tel:,
+	 * pure anchors) and check the rest for 404s. Links that redirect are added
+	 * to redirectChains.
+	 */
+	private List<BrokenLink> checkLinks(List<LinkInfo> allLinks, String exactUrl, List<RedirectChain> redirectChains)
+			throws InterruptedException {
+		LOGGER.info("Total links found on page: " + allLinks.size());
+		List<LinkInfo> validLinks = new ArrayList<>();
+		for (LinkInfo link : allLinks) {
+			String href = link.href;
+			String linkText = link.text;
+
+			if (href == null || href.isEmpty()) {
+				LOGGER.fine("Skipping link with no href (Text: " + linkText + ")");
+				continue;
+			}
+
+			// Filter out non-HTTP links but keep anchor links that might have paths
+			if (href.startsWith("javascript:") || href.startsWith("mailto:") || href.startsWith("tel:")) {
+				LOGGER.fine("Skipping non-HTTP link: " + href);
+				continue;
+			}
+
+			// Only skip pure anchor links (#), but keep links with paths before #
+			if (href.equals("#") || href.equals("javascript:void(0)")) {
+				LOGGER.fine("Skipping pure anchor link: " + href);
+				continue;
+			}
+
+			// Include all other links (including those with # anchors after a path)
+			validLinks.add(link);
+			LOGGER.fine("Added link to check: " + href + " (Text: " + linkText + ")");
+		}
+		LOGGER.info("Valid links collected for broken link check: " + validLinks.size());
+
+		List<BrokenLink> brokenLinks = parallelBrokenLinkCheck(validLinks, exactUrl, redirectChains);
+		LOGGER.info("Broken links detected: " + brokenLinks.size() + " broken link(s) found");
+		return brokenLinks;
 	}
 
 	/**
@@ -1338,31 +1860,45 @@ public class StyleGuide_ValidatorQA {
 	private List<GrammarIssue> parallelGrammarCheck(List<String> textChunks) {
 		LOGGER.info("Starting parallel grammar check for " + textChunks.size() + " text chunks");
 		
-		// Test LanguageTool with a known misspelling to verify it's working
-		try {
-			JLanguageTool testTool = new JLanguageTool(new AmericanEnglish());
-			List<RuleMatch> testMatches = testTool.check("This is a testt with a misspelling");
-			if (testMatches.isEmpty()) {
-				LOGGER.warning("WARNING: LanguageTool test failed - no matches found for known misspelling 'testt'");
-			} else {
-				LOGGER.info("LanguageTool test passed - found " + testMatches.size() + " match(es) for test misspelling");
-			}
-		} catch (Exception e) {
-			LOGGER.severe("CRITICAL: LanguageTool test failed: " + e.getMessage());
-			e.printStackTrace();
+		// Warmed up once per process; the warm-up self-test sets the health flag
+		LanguageToolPool languageToolPool = LanguageToolPool.get();
+		if (!languageToolPool.isHealthy()) {
+			LOGGER.warning("WARNING: LanguageTool is not healthy - spelling results may be incomplete");
 		}
 
-		ExecutorService executor = Executors.newFixedThreadPool(4);
+		// Chunks already checked with the same LanguageTool configuration (this run or
+		// an earlier one) are answered from the cache; only new text is checked.
+		// Results are not cached while LanguageTool is unhealthy.
+		SpellCheckCache cache = languageToolPool.isHealthy() ? SpellCheckCache.forFingerprint(languageToolPool.fingerprint())
+				: null;
+
+		ExecutorService executor = Executors.newFixedThreadPool(languageToolPool.size());
 		List<Future<List<GrammarIssue>>> futures = new ArrayList<>();
+		List<GrammarIssue> allIssues = new ArrayList<>();
 
 		int processedChunks = 0;
+		int cachedChunks = 0;
 		for (String chunk : textChunks) {
 			if (chunk != null && !chunk.trim().isEmpty()) {
+				List<GrammarIssue> cachedIssues = cache != null ? cache.lookup(chunk) : null;
+				if (cachedIssues != null) {
+					cachedChunks++;
+					allIssues.addAll(cachedIssues);
+					continue;
+				}
 				processedChunks++;
 				final String chunkToProcess = chunk;
 				futures.add(executor.submit(() -> {
 					try {
-						return grammarCheck(chunkToProcess);
+						List<GrammarIssue> chunkIssues = grammarCheck(chunkToProcess);
+						if (chunkIssues == null) {
+							// Failed check: report nothing for the chunk, and check it again next time
+							return new ArrayList<GrammarIssue>();
+						}
+						if (cache != null) {
+							cache.put(chunkToProcess, chunkIssues);
+						}
+						return chunkIssues;
 					} catch (Exception e) {
 						LOGGER.warning("Error in grammar check for chunk: " + e.getMessage());
 						return new ArrayList<GrammarIssue>();
@@ -1371,9 +1907,9 @@ public class StyleGuide_ValidatorQA {
 			}
 		}
 
-		LOGGER.info("Submitted " + processedChunks + " text chunks for grammar checking");
+		LOGGER.info("Submitted " + processedChunks + " text chunks for grammar checking (" + cachedChunks
+				+ " unchanged chunk(s) taken from the spelling cache)");
 
-		List<GrammarIssue> allIssues = new ArrayList<>();
 		int completedChecks = 0;
 		for (Future<List<GrammarIssue>> f : futures) {
 			try {
@@ -1397,20 +1933,31 @@ public class StyleGuide_ValidatorQA {
 		}
 
 		LOGGER.info("Grammar check completed. Total spelling errors found: " + allIssues.size());
+		if (cache != null) {
+			LOGGER.info("Spelling cache: " + cache.stats());
+		}
 		return allIssues;
 	}
 
-	private List<BrokenLink> parallelBrokenLinkCheck(List<WebElement> links, String pageUrl)
-			throws InterruptedException {
-		ExecutorService executor = Executors.newFixedThreadPool(LINK_CHECK_THREADS);
-		List<Future<BrokenLink>> futures = new ArrayList<>();
+	/**
+	 * Check the links through the run-wide status cache and wait for all of
+	 * them (at most LINK_CHECK_TIMEOUT_MINUTES). Only 404s, including soft 404s,
+	 * are reported as broken; every link that redirects is added to
+	 * redirectChains, once per URL.
+	 */
+	private List<BrokenLink> parallelBrokenLinkCheck(List<LinkInfo> links, String pageUrl,
+			List<RedirectChain> redirectChains) throws InterruptedException {
+		LinkStatusCache statusCache = LinkStatusCache.get();
+		List<CompletableFuture<BrokenLink>> futures = new ArrayList<>();
+		Map<String, RedirectChain> chainsByUrl = new ConcurrentHashMap<>();
 
 		LOGGER.info("Starting broken link check for " + links.size() + " links from page: " + pageUrl);
 
-		for (WebElement link : links) {
+		for (LinkInfo link : links) {
 			try {
-				String linkUrl = link.getAttribute("href");
-				String linkText = link.getText() != null ? link.getText().trim() : "";
+				String linkUrl = link.href;
+				String text = link.text != null ? link.text.trim() : "";
+				String linkText = text.isEmpty() && !link.visible ? "(hidden link)" : text;
 
 				if (linkUrl != null && !linkUrl.isEmpty()) {
 					try {
@@ -1422,36 +1969,23 @@ public class StyleGuide_ValidatorQA {
 						if (resolvedUrl.startsWith("http") && !resolvedUrl.contains("javascript:")
 								&& !resolvedUrl.contains("mailto:") && !resolvedUrl.contains("tel:")) {
 
-							// Log the link being checked for debugging (INFO level so we can see it)
-							LOGGER.info("Checking link: " + resolvedUrl + " (Text: " + linkText + ")");
-
-							final String finalResolvedUrl = resolvedUrl;
-							final String finalLinkText = linkText;
-
-							futures.add(executor.submit(() -> {
-								try {
-									LOGGER.info("Getting HTTP status for: " + finalResolvedUrl);
-									int status = getHttpStatus(finalResolvedUrl);
-									LOGGER.info("HTTP status for " + finalResolvedUrl + " = " + status);
-
-									// Only capture 404 status codes (including soft 404s detected in getHttpStatus)
-									if (status == 404) {
-										LOGGER.warning("*** 404 BROKEN LINK DETECTED ***: " + finalResolvedUrl
-												+ " (Link Text: " + finalLinkText + ")");
-										return new BrokenLink(finalLinkText, finalResolvedUrl, String.valueOf(status),
-												pageUrl);
-									} else if (status != -1) {
-										LOGGER.info("Link OK: " + finalResolvedUrl + " - Status: " + status);
-									} else {
-										LOGGER.warning("Connection failed for: " + finalResolvedUrl);
-									}
-									return null;
-								} catch (Exception e) {
-									LOGGER.warning("Exception checking link status for " + finalResolvedUrl + ": "
-											+ e.getMessage());
-									e.printStackTrace();
-									return null;
+							LOGGER.fine("Checking link: " + resolvedUrl + " (Text: " + linkText + ")");
+							futures.add(statusCache.status(resolvedUrl).thenApply(result -> {
+								if (result.redirectCount() > 0) {
+									chainsByUrl.putIfAbsent(LinkStatusCache.normalize(resolvedUrl),
+											new RedirectChain(resolvedUrl, linkText, result.redirectChain,
+													result.redirectLoop));
+								}
+								if (result.isBroken()) {
+									LOGGER.warning("*** 404 BROKEN LINK DETECTED ***: " + resolvedUrl
+											+ " (Link Text: " + linkText + ")");
+									return new BrokenLink(linkText, resolvedUrl, String.valueOf(result.reportedStatus()),
+											pageUrl);
+								}
+								if (result.status != -1) {
+									LOGGER.fine("Link OK: " + resolvedUrl + " - Status: " + result.status);
 								}
+								return null;
 							}));
 						} else {
 							LOGGER.info("Skipping non-HTTP link: " + resolvedUrl);
@@ -1463,48 +1997,131 @@ public class StyleGuide_ValidatorQA {
 						LOGGER.warning("Error resolving URL - Link: " + linkUrl + ", Error: " + e.getMessage());
 					}
 				}
-			} catch (Exception e) {
-				LOGGER.warning("Error processing link element: " + e.getMessage());
+			} catch (Exception e) {
+				LOGGER.warning("Error processing link: " + e.getMessage());
+			}
+		}
+
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(LINK_CHECK_TIMEOUT_MINUTES,
+					TimeUnit.MINUTES);
+		} catch (java.util.concurrent.TimeoutException e) {
+			LOGGER.warning("Broken link check timed out - some links may not have been checked");
+		} catch (ExecutionException e) {
+			LOGGER.warning("Error checking broken links: " + e.getCause());
+		}
+
+		List<BrokenLink> brokenLinks = new ArrayList<>();
+		int checkedCount = 0;
+		int errorCount = 0;
+
+		for (CompletableFuture<BrokenLink> f : futures) {
+			if (!f.isDone()) {
+				continue;
+			}
+			checkedCount++;
+			try {
+				BrokenLink bl = f.getNow(null);
+				if (bl != null) {
+					brokenLinks.add(bl);
+				}
+			} catch (Exception e) {
+				errorCount++;
+				LOGGER.warning("Error checking broken link: " + e.getMessage());
+			}
+		}
+
+		LOGGER.info("Broken links check completed:");
+		LOGGER.info("  - Links checked: " + checkedCount);
+		LOGGER.info("  - Errors encountered: " + errorCount);
+		LOGGER.info("  - 404 broken links detected: " + brokenLinks.size());
+		LOGGER.info("  - Redirecting links: " + chainsByUrl.size());
+		LOGGER.info("  - Link status cache: " + statusCache.stats());
+		LOGGER.info("  - Host scheduling: " + LinkStatusChecker.get().schedulerStats());
+		LOGGER.info("  - Requests: " + LinkStatusChecker.get().probeStats());
+
+		if (brokenLinks.size() > 0) {
+			LOGGER.warning("Found " + brokenLinks.size() + " broken link(s) with 404 status:");
+			for (BrokenLink bl : brokenLinks) {
+				LOGGER.warning("  - " + bl.url + " (Text: " + bl.text + ")");
+			}
+		}
+
+		redirectChains.addAll(chainsByUrl.values());
+		redirectChains.sort((a, b) -> Integer.compare(b.hops.size(), a.hops.size()));
+		return brokenLinks;
+	}
+
+	/**
+	 * Read headings, buttons, links and paragraphs element by element with
+	 * getCssValue/getAttribute. Only used when the bulk extraction script fails.
+	 */
+	private DomSnapshot extractStylesPerElement(WebDriver driver, String url) {
+		Map<String, List<HeadingElement>> headers = new HashMap<>();
+		for (int i = 1; i <= 6; i++) {
+			String tag = "h" + i;
+			List<HeadingElement> headingElements = new ArrayList<>();
+			try {
+				List<WebElement> elements = driver.findElements(By.tagName(tag));
+				for (WebElement el : elements) {
+					headingElements.add(extractHeadingStyle(el, tag));
+				}
+			} catch (Exception e) {
+				LOGGER.warning("Error retrieving " + tag + " headings for URL: " + url + ". Error: " + e.getMessage());
+			}
+			headers.put(tag, headingElements);
+		}
+
+		List<ButtonOrLink> buttons = new ArrayList<>();
+		Set<String> processedElements = new HashSet<>();
+
+		try {
+			for (WebElement btn : driver.findElements(By.tagName("button"))) {
+				String elementId = btn.getAttribute("id") + btn.getLocation().toString();
+				if (!processedElements.contains(elementId)) {
+					ButtonOrLink button = extractButtonOrLink(btn, "button");
+					if (button.text != null && !button.text.isEmpty() && !button.text.contains("Icon")) {
+						buttons.add(button);
+						processedElements.add(elementId);
+					}
+				}
 			}
+		} catch (Exception e) {
+			LOGGER.warning("Error retrieving buttons for URL: " + url + ". Error: " + e.getMessage());
 		}
 
-		List<BrokenLink> brokenLinks = new ArrayList<>();
-		int checkedCount = 0;
-		int errorCount = 0;
-
-		for (Future<BrokenLink> f : futures) {
-			try {
-				checkedCount++;
-				BrokenLink bl = f.get();
-				if (bl != null) {
-					brokenLinks.add(bl);
+		try {
+			List<WebElement> links = driver.findElements(By.tagName("a"));
+			LOGGER.info("Total links found: " + links.size());
+			for (WebElement link : links) {
+				String href = link.getAttribute("href");
+				String text = link.getText();
+				LOGGER.fine("Link href: " + href + ", Text: " + text);
+				String elementId = link.getAttribute("id") + link.getLocation().toString();
+				if (!processedElements.contains(elementId)) {
+					ButtonOrLink button = extractButtonOrLink(link, "a");
+					if (button.text != null && !button.text.isEmpty()) {
+						buttons.add(button);
+						processedElements.add(elementId);
+					}
 				}
-			} catch (Exception e) {
-				errorCount++;
-				LOGGER.warning("Error checking broken link: " + e.getMessage());
 			}
+		} catch (Exception e) {
+			LOGGER.warning("Error retrieving links for URL: " + url + ". Error: " + e.getMessage());
 		}
 
-		executor.shutdown();
-		boolean terminated = executor.awaitTermination(2, TimeUnit.MINUTES);
-		if (!terminated) {
-			LOGGER.warning("Broken link check timed out - some links may not have been checked");
-			executor.shutdownNow();
-		}
-
-		LOGGER.info("Broken links check completed:");
-		LOGGER.info("  - Links checked: " + checkedCount);
-		LOGGER.info("  - Errors encountered: " + errorCount);
-		LOGGER.info("  - 404 broken links detected: " + brokenLinks.size());
-
-		if (brokenLinks.size() > 0) {
-			LOGGER.warning("Found " + brokenLinks.size() + " broken link(s) with 404 status:");
-			for (BrokenLink bl : brokenLinks) {
-				LOGGER.warning("  - " + bl.url + " (Text: " + bl.text + ")");
+		List<ParagraphStyle> paragraphs = new ArrayList<>();
+		try {
+			List<WebElement> allParagraphs = driver.findElements(By.xpath("//p"));
+			LOGGER.info("Total <p> tags found: " + allParagraphs.size());
+			for (WebElement para : driver.findElements(By.tagName("p"))) {
+				paragraphs.add(extractParagraphStyle(para));
 			}
+		} catch (Exception e) {
+			LOGGER.warning("Error retrieving paragraphs for URL: " + url + ". Error: " + e.getMessage());
 		}
 
-		return brokenLinks;
+		return new DomSnapshot(headers, buttons, paragraphs, null);
 	}
 
 	private HeadingElement extractHeadingStyle(WebElement el, String tag) {
@@ -1686,10 +2303,11 @@ public class StyleGuide_ValidatorQA {
 		return new ParagraphStyle(text, fontFamily, fontSize, fontWeight, lineHeight, letterSpacing, color);
 	}
 
-	private List<OtherElement> extractOtherElements(WebDriver driver) {
+	/**
+	 * Capture all images including JPG, PNG, SVG, WebP, GIF element by element
+	 */
+	private List<OtherElement> extractImages(WebDriver driver) {
 		List<OtherElement> otherElements = new ArrayList<>();
-
-		// Extract Images - capture all images including JPG, PNG, SVG, WebP, GIF
 		try {
 			List<WebElement> images = driver.findElements(By.tagName("img"));
 			Set<String> processedSrcs = new HashSet<>(); // Track processed images to avoid duplicates
@@ -1758,6 +2376,14 @@ public class StyleGuide_ValidatorQA {
 		} catch (Exception e) {
 			LOGGER.warning("Error extracting images: " + e.getMessage());
 		}
+		return otherElements;
+	}
+
+	private List<OtherElement> extractOtherElements(WebDriver driver, List<OtherElement> images) {
+		List<OtherElement> otherElements = new ArrayList<>();
+
+		// Extract Images - taken from the bulk DOM snapshot when it is available
+		otherElements.addAll(images != null ? images : extractImages(driver));
 
 		// Extract Tables
 		try {
@@ -2291,7 +2917,7 @@ public class StyleGuide_ValidatorQA {
 											defaultBg = header.getCssValue("background-color");
 										}
 										defaultBg = (defaultBg != null && !defaultBg.isEmpty()) ? defaultBg : "Not available";
-										backgroundColor = getBackgroundColorWithHover(header, defaultBg);
+										backgroundColor = getBackgroundColorWithHover(driver, header, defaultBg);
 										
 										// Check if header contains a link
 										try {
@@ -2330,7 +2956,7 @@ public class StyleGuide_ValidatorQA {
 											letterSpacing = header.getCssValue("letter-spacing") != null ? header.getCssValue("letter-spacing") : "Not available";
 											textColor = header.getCssValue("color") != null ? header.getCssValue("color") : "Not available";
 											String defaultBg = header.getCssValue("background-color") != null ? header.getCssValue("background-color") : "Not available";
-											backgroundColor = getBackgroundColorWithHover(header, defaultBg);
+											backgroundColor = getBackgroundColorWithHover(driver, header, defaultBg);
 										} catch (Exception ex) {
 											// Ignore
 										}
@@ -2415,7 +3041,7 @@ public class StyleGuide_ValidatorQA {
 													defaultBg = content.getCssValue("background-color");
 												}
 												defaultBg = (defaultBg != null && !defaultBg.isEmpty()) ? defaultBg : "Not available";
-												backgroundColor = getBackgroundColorWithHover(content, defaultBg);
+												backgroundColor = getBackgroundColorWithHover(driver, content, defaultBg);
 												
 												// Check if content contains a link
 												try {
@@ -2440,7 +3066,7 @@ public class StyleGuide_ValidatorQA {
 													letterSpacing = content.getCssValue("letter-spacing") != null ? content.getCssValue("letter-spacing") : "Not available";
 													textColor = content.getCssValue("color") != null ? content.getCssValue("color") : "Not available";
 													String defaultBg = content.getCssValue("background-color") != null ? content.getCssValue("background-color") : "Not available";
-													backgroundColor = getBackgroundColorWithHover(content, defaultBg);
+													backgroundColor = getBackgroundColorWithHover(driver, content, defaultBg);
 												} catch (Exception ex) {
 													// Ignore
 												}
@@ -2520,7 +3146,7 @@ public class StyleGuide_ValidatorQA {
 											defaultBg = container.getCssValue("background-color");
 										}
 										defaultBg = (defaultBg != null && !defaultBg.isEmpty()) ? defaultBg : "Not available";
-										backgroundColor = getBackgroundColorWithHover(container, defaultBg);
+										backgroundColor = getBackgroundColorWithHover(driver, container, defaultBg);
 										
 										// Check if container contains a link
 										try {
@@ -2545,7 +3171,7 @@ public class StyleGuide_ValidatorQA {
 											letterSpacing = container.getCssValue("letter-spacing") != null ? container.getCssValue("letter-spacing") : "Not available";
 											textColor = container.getCssValue("color") != null ? container.getCssValue("color") : "Not available";
 											String defaultBg = container.getCssValue("background-color") != null ? container.getCssValue("background-color") : "Not available";
-											backgroundColor = getBackgroundColorWithHover(container, defaultBg);
+											backgroundColor = getBackgroundColorWithHover(driver, container, defaultBg);
 										} catch (Exception exInner) {
 											// Ignore
 										}
@@ -2647,7 +3273,7 @@ public class StyleGuide_ValidatorQA {
 										defaultBg = detail.getCssValue("background-color");
 									}
 									defaultBg = (defaultBg != null && !defaultBg.isEmpty()) ? defaultBg : "Not available";
-									backgroundColor = getBackgroundColorWithHover(detail, defaultBg);
+									backgroundColor = getBackgroundColorWithHover(driver, detail, defaultBg);
 									
 									// Check if details contains a link
 									try {
@@ -2672,7 +3298,7 @@ public class StyleGuide_ValidatorQA {
 										letterSpacing = detail.getCssValue("letter-spacing") != null ? detail.getCssValue("letter-spacing") : "Not available";
 										textColor = detail.getCssValue("color") != null ? detail.getCssValue("color") : "Not available";
 										String defaultBg = detail.getCssValue("background-color") != null ? detail.getCssValue("background-color") : "Not available";
-										backgroundColor = getBackgroundColorWithHover(detail, defaultBg);
+										backgroundColor = getBackgroundColorWithHover(driver, detail, defaultBg);
 									} catch (Exception ex) {
 										// Ignore
 									}
@@ -2843,7 +3469,7 @@ public class StyleGuide_ValidatorQA {
 							
 							String defaultBg = styles.get("backgroundColor");
 							defaultBg = (defaultBg != null && !defaultBg.isEmpty() && !defaultBg.equals("initial") && !defaultBg.equals("rgba(0, 0, 0, 0)")) ? defaultBg : "Not available";
-							backgroundColor = getBackgroundColorWithHover(li, defaultBg);
+							backgroundColor = getBackgroundColorWithHover(driver, li, defaultBg);
 						} else {
 							// Fallback to individual property extraction using getCssValue
 							// This uses Selenium's getCssValue which also gets computed styles
@@ -2867,7 +3493,7 @@ public class StyleGuide_ValidatorQA {
 							
 							String defaultBg = elementToStyle.getCssValue("background-color");
 							defaultBg = (defaultBg != null && !defaultBg.isEmpty() && !defaultBg.equals("initial") && !defaultBg.equals("rgba(0, 0, 0, 0)")) ? defaultBg : "Not available";
-							backgroundColor = getBackgroundColorWithHover(li, defaultBg);
+							backgroundColor = getBackgroundColorWithHover(driver, li, defaultBg);
 						}
 						
 						// Check if LI contains a link
@@ -3036,7 +3662,7 @@ public class StyleGuide_ValidatorQA {
 									
 									String defaultBg = styles.get("backgroundColor");
 									defaultBg = (defaultBg != null && !defaultBg.isEmpty() && !defaultBg.equals("initial") && !defaultBg.equals("rgba(0, 0, 0, 0)")) ? defaultBg : "Not available";
-									backgroundColor = getBackgroundColorWithHover(li, defaultBg);
+									backgroundColor = getBackgroundColorWithHover(driver, li, defaultBg);
 								} else {
 									// Fallback to individual property extraction
 									fontFamily = (String) js.executeScript("return window.getComputedStyle(arguments[0]).fontFamily;", elementToStyle);
@@ -3059,7 +3685,7 @@ public class StyleGuide_ValidatorQA {
 									
 									String defaultBg = (String) js.executeScript("return window.getComputedStyle(arguments[0]).backgroundColor;", elementToStyle);
 									defaultBg = (defaultBg != null && !defaultBg.isEmpty()) ? defaultBg : "Not available";
-									backgroundColor = getBackgroundColorWithHover(li, defaultBg);
+									backgroundColor = getBackgroundColorWithHover(driver, li, defaultBg);
 								}
 								
 								// Check if LI contains a link
@@ -3162,13 +3788,13 @@ public class StyleGuide_ValidatorQA {
 
 			while (currentScroll < pageHeight) {
 				js.executeScript("window.scrollTo(0, " + currentScroll + ");");
-				Thread.sleep(200); // Small delay to allow animations to trigger
+				PageWaits.afterScrollStep(driver); // Until the step is painted and its images have loaded
 				currentScroll += scrollIncrement;
 			}
 
 			// Ensure we reach the bottom
 			js.executeScript("window.scrollTo(0, document.body.scrollHeight);");
-			Thread.sleep(500); // Wait a bit longer at the bottom
+			PageWaits.untilSettled(driver); // Lazy content at the bottom may still be loading
 
 			LOGGER.info("Finished scrolling to bottom of page");
 		} catch (Exception e) {
@@ -3184,7 +3810,7 @@ public class StyleGuide_ValidatorQA {
 			JavascriptExecutor js = (JavascriptExecutor) driver;
 			LOGGER.info("Scrolling back to top of page...");
 			js.executeScript("window.scrollTo(0, 0);");
-			Thread.sleep(500); // Wait for scroll to complete
+			PageWaits.afterScroll(driver);
 			LOGGER.info("Reached top of page");
 		} catch (Exception e) {
 			LOGGER.warning("Error scrolling to top: " + e.getMessage());
@@ -3192,13 +3818,13 @@ public class StyleGuide_ValidatorQA {
 	}
 
 	/**
-	 * Scroll element into view smoothly
+	 * Scroll element into view and wait until the scroll has ended
 	 */
 	private void scrollElementIntoView(WebDriver driver, WebElement element) {
 		try {
 			JavascriptExecutor js = (JavascriptExecutor) driver;
-			js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
-			Thread.sleep(300); // Wait for scroll to complete and element to be visible
+			js.executeScript("arguments[0].scrollIntoView({behavior: 'auto', block: 'center'});", element);
+			PageWaits.afterScroll(driver);
 		} catch (Exception e) {
 			LOGGER.warning("Error scrolling element into view: " + e.getMessage());
 		}
@@ -3312,9 +3938,10 @@ public class StyleGuide_ValidatorQA {
 	}
 
 	/**
-	 * Capture screenshot with a highlighted element using JavaScript
+	 * Capture screenshot with a highlighted element using JavaScript. Cropping
+	 * to the element and encoding happen on the ThumbnailPipeline.
 	 */
-	private String captureScreenshotWithHighlight(WebDriver driver, WebElement element, String highlightColor) {
+	private Future<ScreenshotStore.Handle> captureScreenshotWithHighlight(WebDriver driver, WebElement element, String highlightColor) {
 		try {
 			// Use JavaScript to add a temporary highlight border to the element
 			JavascriptExecutor js = (JavascriptExecutor) driver;
@@ -3324,19 +3951,20 @@ public class StyleGuide_ValidatorQA {
 			Map<String, Object> originalStyles = (Map<String, Object>) js.executeScript("var el = arguments[0]; "
 					+ "var color = arguments[1]; " + "var original = { " + "  outline: el.style.outline, "
 					+ "  outlineOffset: el.style.outlineOffset, " + "  boxShadow: el.style.boxShadow, "
-					+ "  zIndex: el.style.zIndex, " + "  position: el.style.position " + "}; "
+					+ "  zIndex: el.style.zIndex, " + "  position: el.style.position, "
+					+ "  rect: (function (r) { return { x: r.left, y: r.top, width: r.width, height: r.height, "
+					+ "    viewportWidth: window.innerWidth }; })(el.getBoundingClientRect()) " + "}; "
 					+ "el.style.outline = color + ' solid 6px'; " + "el.style.outlineOffset = '3px'; "
 					+ "el.style.boxShadow = '0 0 0 3px ' + color + ', 0 0 20px rgba(0,0,0,0.5)'; "
 					+ "el.style.zIndex = '99999'; " + "if (window.getComputedStyle(el).position === 'static') { "
 					+ "  el.style.position = 'relative'; " + "} " + "return original;", element, highlightColor);
 
-			// Longer delay to ensure the highlight is fully rendered and visible
-			Thread.sleep(200);
+			// Wait until the highlight has been painted
+			PageWaits.afterStyleChange(driver);
 
 			// Capture screenshot
 			TakesScreenshot screenshotDriver = (TakesScreenshot) driver;
-			byte[] screenshotBytes = screenshotDriver.getScreenshotAs(OutputType.BYTES);
-			String screenshotBase64 = Base64.getEncoder().encodeToString(screenshotBytes);
+			byte[] screenshotPng = screenshotDriver.getScreenshotAs(OutputType.BYTES);
 
 			// Remove the highlight and restore original styles
 			js.executeScript("var el = arguments[0]; " + "var original = arguments[1]; "
@@ -3346,16 +3974,21 @@ public class StyleGuide_ValidatorQA {
 					+ "if (original.position) { " + "  el.style.position = original.position; " + "} else { "
 					+ "  el.style.position = ''; " + "}", element, originalStyles);
 
-			return screenshotBase64;
+			@SuppressWarnings("unchecked")
+			Map<String, Object> rect = (Map<String, Object>) originalStyles.get("rect");
+			return ThumbnailPipeline.get().submit(() -> ThumbnailPipeline.crop(screenshotPng,
+					((Number) rect.get("viewportWidth")).intValue(), ((Number) rect.get("x")).intValue(),
+					((Number) rect.get("y")).intValue(), ((Number) rect.get("width")).intValue(),
+					((Number) rect.get("height")).intValue()), ThumbnailPipeline.Highlight.painted(highlightColor));
 		} catch (Exception e) {
 			LOGGER.warning("Failed to capture screenshot with highlight: " + e.getMessage());
 			// Fallback to regular screenshot
 			try {
 				TakesScreenshot screenshotDriver = (TakesScreenshot) driver;
-				byte[] screenshotBytes = screenshotDriver.getScreenshotAs(OutputType.BYTES);
-				return Base64.getEncoder().encodeToString(screenshotBytes);
+				byte[] screenshotPng = screenshotDriver.getScreenshotAs(OutputType.BYTES);
+				return ThumbnailPipeline.get().submit(() -> ImageIO.read(new ByteArrayInputStream(screenshotPng)), null);
 			} catch (Exception ex) {
-				return "";
+				return CompletableFuture.completedFuture(ScreenshotStore.EMPTY);
 			}
 		}
 	}
@@ -3514,7 +4147,8 @@ public class StyleGuide_ValidatorQA {
 				}
 
 				String highlightColor = getHighlightColor(startIndex + i);
-				String screenshotBase64 = captureScreenshotWithHighlight(driver, element, highlightColor);
+				Future<ScreenshotStore.Handle> screenshot = captureScreenshotWithHighlight(driver, element,
+						highlightColor);
 				Map<String, Integer> bounds = getElementBounds(element);
 				Map<String, String> properties = extractElementProperties(element, elementType);
 				String text = element.getText();
@@ -3526,9 +4160,9 @@ public class StyleGuide_ValidatorQA {
 
 				String elementId = elementType + "-" + (startIndex + i);
 				ElementScreenshotData screenshotData = new ElementScreenshotData(elementType, elementId,
-						screenshotBase64, highlightColor, bounds.get("x"), bounds.get("y"), bounds.get("width"),
-						bounds.get("height"), properties, text.length() > 100 ? text.substring(0, 100) + "..." : text,
-						startIndex + i);
+						screenshot, highlightColor, bounds.get("x"), bounds.get("y"),
+						bounds.get("width"), bounds.get("height"), properties,
+						text.length() > 100 ? text.substring(0, 100) + "..." : text, startIndex + i);
 				screenshotList.add(screenshotData);
 			} catch (Exception e) {
 				LOGGER.warning(
@@ -3542,6 +4176,7 @@ public class StyleGuide_ValidatorQA {
 	 * - LanguageTool (en-US) with ONLY spelling rules enabled
 	 * - Only accept MORFOLOGIK_RULE (the actual spelling checker)
 	 * - Verify matched text is a single word (spelling errors are word-level)
+	 * Returns null when the check failed, so the result is not cached as clean.
 	 */
 	private List<GrammarIssue> grammarCheck(String text) {
 		List<GrammarIssue> issues = new ArrayList<>();
@@ -3554,84 +4189,14 @@ public class StyleGuide_ValidatorQA {
 				return issues;
 			}
 
-			// Ensure XML parser limits are set (fallback in case static initializer didn't run)
-			if (System.getProperty("jdk.xml.totalEntitySizeLimit") == null) {
-				System.setProperty("jdk.xml.totalEntitySizeLimit", "-1");
-				System.setProperty("jdk.xml.entityExpansionLimit", "-1");
-				System.setProperty("jdk.xml.maxElementDepth", "10000");
-			}
-			
-			// Step 4: Initialize LanguageTool (en-US) and DISABLE ALL non-spelling rules
-			JLanguageTool langTool;
+			// Step 4: Check with a pooled en-US LanguageTool that has all non-spelling rules disabled
+			List<RuleMatch> matches;
 			try {
-				langTool = new JLanguageTool(new AmericanEnglish());
-				
-				// Get all rules and disable everything EXCEPT spelling rules
-				List<Rule> allRules = langTool.getAllRules();
-				int spellingRulesCount = 0;
-				int disabledRulesCount = 0;
-				
-				for (Rule rule : allRules) {
-					String ruleId = rule.getId().toUpperCase();
-					// Only keep MORFOLOGIK rules (the actual spelling checker)
-					// MORFOLOGIK_RULE_EN_US is the main English spelling rule
-					boolean isSpellingRule = ruleId.contains("MORFOLOGIK") || ruleId.contains("HUNSPELL");
-					
-					if (isSpellingRule) {
-						spellingRulesCount++;
-						LOGGER.fine("Keeping spelling rule: " + rule.getId());
-					} else {
-						try {
-							langTool.disableRule(rule.getId());
-							disabledRulesCount++;
-						} catch (Exception e) {
-							// Some rules might not be disableable, ignore
-							LOGGER.fine("Could not disable rule: " + rule.getId() + " - " + e.getMessage());
-						}
-					}
-				}
-				LOGGER.info("LanguageTool initialized: " + spellingRulesCount + " spelling rules enabled, " + disabledRulesCount + " non-spelling rules disabled");
+				matches = LanguageToolPool.get().check(actualText);
 			} catch (RuntimeException e) {
-				Throwable cause = e.getCause();
-				if (cause != null && cause.getMessage() != null && 
-				    cause.getMessage().contains("jdk.xml.totalEntitySizeLimit")) {
-					LOGGER.severe("CRITICAL: LanguageTool failed due to XML entity size limit. Retrying...");
-					System.setProperty("jdk.xml.totalEntitySizeLimit", "10000000");
-					System.setProperty("jdk.xml.entityExpansionLimit", "10000000");
-					try {
-						langTool = new JLanguageTool(new AmericanEnglish());
-						// Disable all non-spelling rules on retry too
-						List<Rule> allRules = langTool.getAllRules();
-						int spellingRulesCount = 0;
-						for (Rule rule : allRules) {
-							String ruleId = rule.getId().toUpperCase();
-							boolean isSpellingRule = ruleId.contains("MORFOLOGIK") || ruleId.contains("HUNSPELL");
-							if (isSpellingRule) {
-								spellingRulesCount++;
-							} else {
-								try {
-									langTool.disableRule(rule.getId());
-								} catch (Exception ex) {
-									// Ignore
-								}
-							}
-						}
-						LOGGER.info("LanguageTool initialized successfully on retry with " + spellingRulesCount + " spelling rules enabled");
-					} catch (Exception retryException) {
-						LOGGER.severe("CRITICAL: LanguageTool initialization failed: " + retryException.getMessage());
-						return issues;
-					}
-				} else {
-					LOGGER.severe("CRITICAL: Failed to initialize LanguageTool: " + e.getMessage());
-					return issues;
-				}
-			} catch (Exception e) {
 				LOGGER.severe("CRITICAL: Failed to initialize LanguageTool: " + e.getMessage());
-				return issues;
+				return null;
 			}
-
-			// Run LanguageTool check (now only spelling rules are active)
-			List<RuleMatch> matches = langTool.check(actualText);
 			LOGGER.info("LanguageTool returned " + matches.size() + " total matches for text: '" + 
 				(actualText.length() > 50 ? actualText.substring(0, 50) + "..." : actualText) + "'");
 
@@ -3708,170 +4273,11 @@ public class StyleGuide_ValidatorQA {
 			}
 		} catch (Throwable e) {
 			LOGGER.warning("Spelling check failed: " + e.getMessage());
-			e.printStackTrace();
+			return null;
 		}
 		return issues;
 	}
 
-	private int getHttpStatus(String urlStr) {
-		int retries = 3;
-		while (retries > 0) {
-			HttpURLConnection connection = null;
-			try {
-				URL url = new URL(urlStr);
-				connection = (HttpURLConnection) url.openConnection();
-				connection.setRequestMethod("GET");
-				connection.setConnectTimeout(15000); // Increased timeout to 15 seconds
-				connection.setReadTimeout(15000); // Increased timeout to 15 seconds
-				connection.setInstanceFollowRedirects(false); // Manual redirect handling
-				connection.setRequestProperty("User-Agent",
-						"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-				connection.setRequestProperty("Accept",
-						"text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
-				connection.setRequestProperty("Accept-Language", "en-US,en;q=0.5");
-				connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
-
-				// Connect and get response code
-				// Note: getResponseCode() may throw IOException for error responses, we handle
-				// that
-				int status = -1;
-				try {
-					status = connection.getResponseCode();
-				} catch (IOException e) {
-					// For error responses (4xx, 5xx), getResponseCode() throws IOException
-					// We need to use getErrorStream() to read the response
-					status = connection.getResponseCode(); // This will work after the exception
-					LOGGER.info("Got IOException (expected for error responses), status: " + status);
-				}
-
-				// Handle redirects manually to ensure we get the final status
-				int redirectCount = 0;
-				String currentUrl = urlStr;
-				while (status >= 300 && status < 400 && redirectCount < 10) {
-					String location = connection.getHeaderField("Location");
-					if (location != null && !location.isEmpty()) {
-						LOGGER.info("Following redirect #" + (redirectCount + 1) + " from " + currentUrl + " to "
-								+ location);
-						if (connection != null) {
-							connection.disconnect();
-						}
-
-						// Resolve relative redirect URLs
-						URL redirectUrl = new URL(new URL(currentUrl), location);
-						currentUrl = redirectUrl.toString();
-
-						connection = (HttpURLConnection) redirectUrl.openConnection();
-						connection.setRequestMethod("GET");
-						connection.setConnectTimeout(15000);
-						connection.setReadTimeout(15000);
-						connection.setInstanceFollowRedirects(false);
-						connection.setRequestProperty("User-Agent",
-								"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-						connection.setRequestProperty("Accept",
-								"text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
-						connection.setRequestProperty("Accept-Language", "en-US,en;q=0.5");
-						connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
-
-						try {
-							status = connection.getResponseCode();
-						} catch (IOException e) {
-							status = connection.getResponseCode();
-						}
-						redirectCount++;
-					} else {
-						break;
-					}
-				}
-
-				// Logging the status for debugging - always log 404s and errors
-				if (status == 404) {
-					LOGGER.warning("*** 404 NOT FOUND *** - URL: " + currentUrl + " (original: " + urlStr + ")");
-				} else if (status >= 400) {
-					LOGGER.info("Error status (non-404) - URL: " + currentUrl + ", Status: " + status);
-				} else {
-					LOGGER.info("URL: " + currentUrl + ", Status: " + status);
-				}
-
-				// Check for soft 404s (pages that return 200 but show 404 content)
-				if (status == 200) {
-					try {
-						InputStream inputStream = connection.getInputStream();
-						BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-						String content = reader.lines().collect(Collectors.joining());
-						reader.close();
-
-						// Detect soft 404 pages - look for common 404 error page patterns
-						String lowerContent = content.toLowerCase();
-						if (lowerContent.contains("404 not found") || lowerContent.contains("page not found")
-								|| lowerContent.contains("the page you requested was not found")
-								|| lowerContent.contains("error 404") || lowerContent.contains("http 404")
-								|| (lowerContent.contains("404") && lowerContent.contains("not found"))
-								|| lowerContent.contains("page cannot be found")
-								|| lowerContent.contains("file not found")
-								|| lowerContent.contains("resource not found")
-								|| lowerContent.contains("nothing was found")
-								|| lowerContent.contains("page does not exist")) {
-							LOGGER.warning("Soft 404 detected (200 with 404 content) for URL: " + currentUrl);
-							if (connection != null)
-								connection.disconnect();
-							return 404; // Treat soft 404s as broken links
-						}
-					} catch (Exception e) {
-						LOGGER.warning("Error reading content for soft 404 check: " + e.getMessage());
-					}
-				}
-
-				// Clean up connection
-				if (connection != null) {
-					connection.disconnect();
-				}
-
-				// Return the actual status code (only 404 will be caught by the calling code)
-				return status;
-
-			} catch (MalformedURLException e) {
-				LOGGER.warning("Malformed URL: " + urlStr + " - " + e.getMessage());
-				return -1;
-			} catch (IOException e) {
-				retries--;
-				LOGGER.warning("IO Exception getting HTTP status for URL: " + urlStr + ", Retries left: " + retries
-						+ ", Error: " + e.getMessage());
-				if (retries == 0) {
-					return -1; // Return -1 for failed attempts
-				}
-				try {
-					Thread.sleep(2000); // Wait 2 seconds before retry
-				} catch (InterruptedException ie) {
-					Thread.currentThread().interrupt();
-					return -1;
-				}
-			} catch (Exception e) {
-				retries--;
-				LOGGER.warning("Unexpected error getting HTTP status for URL: " + urlStr + ", Retries left: " + retries
-						+ ", Error: " + e.getMessage());
-				e.printStackTrace();
-				if (retries == 0) {
-					return -1;
-				}
-				try {
-					Thread.sleep(2000);
-				} catch (InterruptedException ie) {
-					Thread.currentThread().interrupt();
-					return -1;
-				}
-			} finally {
-				if (connection != null) {
-					try {
-						connection.disconnect();
-					} catch (Exception e) {
-						// Ignore disconnect errors
-					}
-				}
-			}
-		}
-		return -1; // Return -1 for failed attempts
-	}
-
 	private int calculateSeoScore(WebsiteData data) {
 		int score = 100;
 
@@ -3912,7 +4318,7 @@ public class StyleGuide_ValidatorQA {
 		return details.toString();
 	}
 
-	private void generateResolutionContent(StringBuilder sb, WebsiteData data, String resolutionName) {
+	private void generateResolutionContent(ReportWriter sb, WebsiteData data, String resolutionName) {
 		// Add unique IDs for this resolution to avoid conflicts
 		String resolutionId = resolutionName.replaceAll("[^a-zA-Z0-9]", "-").toLowerCase();
 
@@ -3928,6 +4334,16 @@ public class StyleGuide_ValidatorQA {
 		// Check if SEO Information should be excluded for this resolution
 		boolean excludeSeo = RESOLUTIONS_WITHOUT_SEO.contains(resolutionName);
 
+		// What collecting this resolution cost (WebDriver round trips etc.)
+		if (data.auditMetrics != null && !data.auditMetrics.isEmpty()) {
+			sb.append("<div class=\"audit-metrics\" aria-label=\"Audit Metrics\">\n");
+			for (Map.Entry<String, String> metric : data.auditMetrics.entrySet()) {
+				sb.append("<span class=\"audit-metric\"><strong>").append(escapeHtml(metric.getKey()))
+						.append(":</strong> ").append(escapeHtml(metric.getValue())).append("</span>\n");
+			}
+			sb.append("</div>\n");
+		}
+
 		sb.append("<div class=\"tabs\" role=\"tablist\" aria-label=\"Dashboard Sections Tabs\">");
 
 		// Only add SEO Information tab if not excluded
@@ -4565,7 +4981,8 @@ public class StyleGuide_ValidatorQA {
 
 				// Screenshot viewer
 				sb.append("<div class=\"screenshot-viewer\">\n");
-				sb.append("<img src=\"data:image/png;base64,").append(screenshot.screenshotBase64)
+				// Files next to the report; hidden slides are only fetched when shown
+				sb.append("<img loading=\"lazy\" decoding=\"async\" src=\"").appendImageSource(screenshot.image())
 						.append("\" alt=\"Screenshot of ").append(escapeHtml(screenshot.elementType))
 						.append(" element at position ").append(screenshot.y).append("\" />\n");
 				sb.append("</div>\n");
@@ -4684,6 +5101,9 @@ public class StyleGuide_ValidatorQA {
 		sb.append("<button class=\"issues-tab\" role=\"tab\" aria-selected=\"false\" tabindex=\"-1\" data-tab=\"")
 				.append(resolutionId).append("-broken-links\">Broken Links (").append(data.brokenLinks.size())
 				.append(")</button>\n");
+		sb.append("<button class=\"issues-tab\" role=\"tab\" aria-selected=\"false\" tabindex=\"-1\" data-tab=\"")
+				.append(resolutionId).append("-redirects\">Redirects (").append(data.redirectChains.size())
+				.append(")</button>\n");
 		sb.append("</div>\n");
 
 		sb.append("<div class=\"issue-section grammar-issue-section\" id=\"").append(resolutionId)
@@ -4748,10 +5168,62 @@ public class StyleGuide_ValidatorQA {
 		sb.append("</tbody>\n");
 		sb.append("</table>\n");
 		sb.append("</div>\n");
+
+		appendRedirectChains(sb, data, resolutionId);
+		sb.append("</div>\n");
+	}
+
+	/**
+	 * Links that redirect, longest chain first. Every hop costs the visitor a
+	 * round trip, so long chains, loops and http/https switches are flagged.
+	 */
+	private void appendRedirectChains(ReportWriter sb, WebsiteData data, String resolutionId) {
+		sb.append("<div class=\"issue-section redirect-issue-section\" id=\"").append(resolutionId)
+				.append("-redirects\" role=\"tabpanel\" tabindex=\"0\" hidden>\n");
+		sb.append("<h3>↪ Redirect Chains</h3>\n");
+		sb.append("<table>\n");
+		sb.append(
+				"<thead>\n<tr>\n<th>Link Text</th>\n<th>Redirects</th>\n<th>Chain</th>\n<th>Flags</th>\n</tr>\n</thead>\n");
+		sb.append("<tbody>\n");
+		if (data.redirectChains.isEmpty()) {
+			sb.append("<tr><td colspan=\"4\">No redirecting links found.</td></tr>\n");
+		} else {
+			for (RedirectChain chain : data.redirectChains) {
+				sb.append("<tr>\n");
+				sb.append("<td>").append(escapeHtml(chain.text)).append("</td>\n");
+				sb.append("<td>").append(chain.redirectCount()).append("</td>\n");
+				sb.append("<td class=\"redirect-chain\">");
+				for (int i = 0; i < chain.hops.size(); i++) {
+					if (i > 0) {
+						sb.append(" →<br>");
+					}
+					sb.append("<a href=\"").append(escapeHtml(chain.hops.get(i)))
+							.append("\" target=\"_blank\" rel=\"noopener noreferrer\" class=\"link-table\">")
+							.append(escapeHtml(chain.hops.get(i))).append("</a>");
+				}
+				sb.append("</td>\n");
+				sb.append("<td>");
+				if (chain.loop) {
+					sb.append("<span class=\"redirect-flag\">LOOP</span> ");
+				}
+				if (chain.redirectCount() >= LONG_REDIRECT_CHAIN) {
+					sb.append("<span class=\"redirect-flag\">LONG CHAIN</span> ");
+				}
+				if (chain.downgrade) {
+					sb.append("<span class=\"redirect-flag\">HTTPS → HTTP</span> ");
+				} else if (chain.mixedScheme) {
+					sb.append("<span class=\"redirect-flag warn\">MIXED HTTP/HTTPS</span> ");
+				}
+				sb.append("</td>\n");
+				sb.append("</tr>\n");
+			}
+		}
+		sb.append("</tbody>\n");
+		sb.append("</table>\n");
 		sb.append("</div>\n");
 	}
 
-	private void appendModernCSS(StringBuilder sb) {
+	private void appendModernCSS(ReportWriter sb) {
 		sb.append(
 				"@import url('https://fonts.googleapis.com/css2?family=Inter:wght@300;400;500;600;700;800&display=swap');\n");
 		sb.append(":root {\n");
@@ -4883,6 +5355,9 @@ public class StyleGuide_ValidatorQA {
 				".score-link { background: var(--warning-light); border-color: var(--warning); color: var(--warning); }\n");
 		sb.append(
 				".score-box small { display: block; margin-top: 8px; font-weight: 400; font-size: 12px; opacity: 0.8; }\n");
+		sb.append(
+				".audit-metrics { display: flex; gap: 8px 24px; flex-wrap: wrap; margin-bottom: 16px; font-size: 13px; color: var(--text-secondary); }\n");
+		sb.append(".audit-metric strong { color: var(--text-primary); font-weight: 600; }\n");
 		sb.append(".heading-structure { display: flex; gap: 16px; margin-bottom: 32px; flex-wrap: wrap; }\n");
 		sb.append(
 				".heading-box { background: var(--bg-secondary); border: 1px solid var(--border-color); flex: 1 1 100px; border-radius: 10px; text-align: center; padding: 24px 16px; color: var(--text-primary); font-weight: 500; box-shadow: var(--shadow-sm); transition: all 0.2s; }\n");
@@ -4998,7 +5473,7 @@ public class StyleGuide_ValidatorQA {
 		sb.append(
 				".issue-box.broken { background: var(--error-light); color: var(--error); border: 1px solid var(--error); }\n");
 		sb.append(
-				".issues-subtabs { display: flex; border: 1px solid var(--border-color); border-radius: 8px; overflow: hidden; max-width: 400px; margin-bottom: 24px; background: var(--bg-surface); }\n");
+				".issues-subtabs { display: flex; border: 1px solid var(--border-color); border-radius: 8px; overflow: hidden; max-width: 600px; margin-bottom: 24px; background: var(--bg-surface); }\n");
 		sb.append(
 				".issues-subtabs button { flex: 1; padding: 14px 0; background: transparent; border: none; cursor: pointer; font-weight: 500; font-size: 14px; color: var(--text-secondary); border-radius: 0; box-shadow: none; transition: all 0.2s; }\n");
 		sb.append(".issues-subtabs button:hover { background: var(--bg-secondary); color: var(--error); }\n");
@@ -5010,6 +5485,10 @@ public class StyleGuide_ValidatorQA {
 				".issue-section { border-radius: 10px; padding: 32px; font-size: 14px; border: 1px solid var(--border-color); background: var(--bg-secondary); }\n");
 		sb.append(".grammar-issue-section { border-color: var(--warning); background: var(--warning-light); }\n");
 		sb.append(".broken-issue-section { border-color: var(--error); background: var(--error-light); }\n");
+		sb.append(".redirect-chain { font-size: 12px; word-break: break-all; }\n");
+		sb.append(
+				".redirect-flag { display: inline-block; padding: 2px 8px; margin: 2px 0; border-radius: 4px; font-size: 11px; font-weight: 600; color: var(--error); background: var(--error-light); border: 1px solid var(--error); }\n");
+		sb.append(".redirect-flag.warn { color: var(--text-secondary); background: var(--bg-surface); border-color: var(--border-color); }\n");
 		sb.append(
 				".issue-section h3 { font-size: 22px; font-weight: 700; margin-bottom: 24px; color: var(--text-primary); }\n");
 		sb.append(
@@ -5098,7 +5577,41 @@ public class StyleGuide_ValidatorQA {
 	}
 
 	private void generateDashboardHTML() throws IOException {
-		StringBuilder sb = new StringBuilder();
+		WebsiteData data = websiteDataList.get(websiteDataList.size() - 1);
+
+		// Generate dynamic filename with URL
+		String url;
+		if (!websiteDataList.isEmpty()) {
+			url = data.url;
+		} else if (!resolutionDataMap.isEmpty()) {
+			url = resolutionDataMap.values().iterator().next().url;
+		} else {
+			url = "unknown";
+		}
+
+		String sanitizedUrl = sanitizeForFilename(url);
+		// Generate date-time string in format (DD-MM-YYYY-HHMMSS)
+		String dateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy-HHmmss"));
+		String filename = "QA_Report " + sanitizedUrl + "_" + dateTime + ".html";
+
+		// Streamed to the file section by section; the report is never held in memory as a whole
+		try (ReportWriter sb = new ReportWriter(filename)) {
+			writeDashboard(sb, data);
+			sb.complete();
+			LOGGER.info("Screenshots: " + sb.assetSummary() + " (store: " + ScreenshotStore.get().summary()
+					+ "; thumbnails: " + ThumbnailPipeline.get().summary() + ")");
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		LOGGER.info("Dashboard saved to: " + filename);
+	}
+
+	/**
+	 * Emit the whole dashboard: head and CSS, one section per resolution, then
+	 * the scripts
+	 */
+	private void writeDashboard(ReportWriter sb, WebsiteData data) {
 		sb.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n");
 		sb.append("<meta charset=\"UTF-8\" />\n");
 		sb.append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\" />\n");
@@ -5121,8 +5634,6 @@ public class StyleGuide_ValidatorQA {
 				"<button class=\"theme-toggle\" onclick=\"document.documentElement.setAttribute('data-theme', document.documentElement.getAttribute('data-theme') === 'dark' ? 'light' : 'dark'); localStorage.setItem('theme', document.documentElement.getAttribute('data-theme'));\">🌓 Theme</button>\n");
 		sb.append("</header>\n");
 
-		WebsiteData data = websiteDataList.get(websiteDataList.size() - 1);
-
 //		sb.append("<div class=\"analyze-bar\">");
 //		sb.append("<input type=\"url\" placeholder=\"Enter URL to analyze\" value=\"").append(escapeHtml(data.url))
 //				.append("\" aria-label=\"Enter URL to analyze\" readonly />\n");
@@ -5158,7 +5669,8 @@ public class StyleGuide_ValidatorQA {
 				ScreenSize screenSize = SCREEN_SIZES.stream().filter(s -> s.name.equals(resolutionName)).findFirst()
 						.orElse(null);
 
-				String description = screenSize != null ? screenSize.description : "";
+				String description = screenSize != null ? screenSize.description
+						: STATIC_RESOLUTION_NAME.equals(resolutionName) ? "HTML fetched without a browser" : "";
 				boolean isFirst = index == 0;
 				boolean isMultiple = resolutionDataMap.size() > 1;
 
@@ -5606,27 +6118,6 @@ public class StyleGuide_ValidatorQA {
 
 		sb.append("</div>\n");
 		sb.append("</body>\n</html>\n");
-
-		// Generate dynamic filename with URL
-		String url;
-		if (!websiteDataList.isEmpty()) {
-			url = data.url;
-		} else if (!resolutionDataMap.isEmpty()) {
-			url = resolutionDataMap.values().iterator().next().url;
-		} else {
-			url = "unknown";
-		}
-
-		String sanitizedUrl = sanitizeForFilename(url);
-		// Generate date-time string in format (DD-MM-YYYY-HHMMSS)
-		String dateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy-HHmmss"));
-		String filename = "QA_Report " + sanitizedUrl + "_" + dateTime + ".html";
-
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-			writer.write(sb.toString());
-		}
-
-		LOGGER.info("Dashboard saved to: " + filename);
 	}
 
 	/**
@@ -5702,14 +6193,14 @@ public class StyleGuide_ValidatorQA {
 	 * Get hover background color for an element if it has a hover state
 	 * Returns the hover background color, or the default background color if no hover state exists
 	 */
-	private String getBackgroundColorWithHover(WebElement element, String defaultBackgroundColor) {
+	private String getBackgroundColorWithHover(WebDriver driver, WebElement element, String defaultBackgroundColor) {
 		try {
 			// Try to get hover background color using JavaScript
 			JavascriptExecutor js = (JavascriptExecutor) driver;
 			
 			// Scroll element into view first
 			js.executeScript("arguments[0].scrollIntoView({behavior: 'auto', block: 'center'});", element);
-			Thread.sleep(100); // Small delay to ensure scroll completes
+			PageWaits.afterScroll(driver);
 			
 			// Get the default background color first
 			String defaultBg = element.getCssValue("background-color");
@@ -5720,7 +6211,7 @@ public class StyleGuide_ValidatorQA {
 			// Try to simulate hover and get background color
 			Actions actions = new Actions(driver);
 			actions.moveToElement(element).perform();
-			Thread.sleep(100); // Small delay to allow hover state to apply
+			PageWaits.afterHover(driver, element); // Until hover transitions have finished
 			
 			String hoverBg = element.getCssValue("background-color");
 			
@@ -5757,13 +6248,16 @@ public class StyleGuide_ValidatorQA {
 		List<ParagraphStyle> paragraphs;
 		List<GrammarIssue> grammarIssues;
 		List<BrokenLink> brokenLinks;
-		String screenshotBase64;
+		ScreenshotStore.Handle screenshot; // Full-page PNG, kept off the heap
 		List<OtherElement> otherElements;
 		List<ElementScreenshotData> elementScreenshots; // Screenshots with highlighted elements
+		Map<String, String> auditMetrics = new LinkedHashMap<>(); // Cost of collecting this resolution, shown in the report
+		List<String> linkedUrls = new ArrayList<>(); // Absolute links of the page, followed by the site crawler
+		List<RedirectChain> redirectChains = new ArrayList<>(); // Links that redirect, longest chain first
 
 		public WebsiteData(String url, String title, String metaDescription, Map<String, List<HeadingElement>> headers,
 				List<ButtonOrLink> buttons, List<ParagraphStyle> paragraphs, List<GrammarIssue> grammarIssues,
-				List<BrokenLink> brokenLinks, String screenshotBase64, List<OtherElement> otherElements) {
+				List<BrokenLink> brokenLinks, ScreenshotStore.Handle screenshot, List<OtherElement> otherElements) {
 			this.url = url;
 			this.title = title;
 			this.metaDescription = metaDescription;
@@ -5772,12 +6266,32 @@ public class StyleGuide_ValidatorQA {
 			this.paragraphs = paragraphs;
 			this.grammarIssues = grammarIssues;
 			this.brokenLinks = brokenLinks;
-			this.screenshotBase64 = screenshotBase64;
+			this.screenshot = screenshot;
 			this.otherElements = otherElements;
 			this.elementScreenshots = new ArrayList<>();
 		}
 	}
 
+	/**
+	 * Results that depend only on the URL, not on the viewport
+	 */
+	static class PageFindings {
+		String url, title, metaDescription;
+		List<GrammarIssue> grammarIssues;
+		List<BrokenLink> brokenLinks;
+		List<String> linkedUrls = new ArrayList<>();
+		List<RedirectChain> redirectChains = new ArrayList<>();
+
+		public PageFindings(String url, String title, String metaDescription, List<GrammarIssue> grammarIssues,
+				List<BrokenLink> brokenLinks) {
+			this.url = url;
+			this.title = title;
+			this.metaDescription = metaDescription;
+			this.grammarIssues = grammarIssues;
+			this.brokenLinks = brokenLinks;
+		}
+	}
+
 	static class HeadingElement {
 		String tag, text, fontFamily, fontSize, fontWeight, lineHeight, letterSpacing, color;
 
@@ -5859,6 +6373,63 @@ public class StyleGuide_ValidatorQA {
 		}
 	}
 
+	/**
+	 * A link that redirects: every URL from the link to the final target, and
+	 * whether the chain loops or switches between http and https
+	 */
+	static class RedirectChain {
+		String linkUrl, text;
+		List<String> hops;
+		boolean loop, mixedScheme, downgrade;
+
+		public RedirectChain(String linkUrl, String text, List<String> hops, boolean loop) {
+			this.linkUrl = linkUrl;
+			this.text = text;
+			this.hops = hops;
+			this.loop = loop;
+			boolean seenHttp = false;
+			boolean seenHttps = false;
+			for (int i = 0; i < hops.size(); i++) {
+				boolean https = hops.get(i).startsWith("https:");
+				seenHttps |= https;
+				seenHttp |= !https;
+				// An https URL that redirects to plain http
+				if (!https && i > 0 && hops.get(i - 1).startsWith("https:")) {
+					this.downgrade = true;
+				}
+			}
+			this.mixedScheme = seenHttp && seenHttps;
+		}
+
+		int redirectCount() {
+			return hops.size() - 1;
+		}
+	}
+
+	/**
+	 * A link as read from the page: the href as written (or resolved by the
+	 * browser), its text, rel attribute and whether it is rendered
+	 */
+	static class LinkInfo {
+		String href, text, rel;
+		boolean visible;
+
+		public LinkInfo(String href, String text) {
+			this(href, text, "", true);
+		}
+
+		public LinkInfo(String href, String text, String rel, boolean visible) {
+			this.href = href;
+			this.text = text != null ? text : "";
+			this.rel = rel != null ? rel : "";
+			this.visible = visible;
+		}
+
+		boolean isNoFollow() {
+			return rel.toLowerCase(Locale.ROOT).contains("nofollow");
+		}
+	}
+
 	static class OtherElement {
 		String tagName;
 		String text;
@@ -5896,19 +6467,19 @@ public class StyleGuide_ValidatorQA {
 	static class ElementScreenshotData {
 		String elementType; // "button", "link", "heading", "paragraph", "other"
 		String elementId; // Unique identifier
-		String screenshotBase64; // Screenshot with highlighted element
+		Future<ScreenshotStore.Handle> screenshot; // Highlighted element, encoded by the ThumbnailPipeline
 		String highlightColor; // Color used for highlighting
 		int x, y, width, height; // Element position and size
 		Map<String, String> properties; // Element properties (font-family, font-size, etc.)
 		String text; // Element text content
 		int index; // Index within its category
 
-		public ElementScreenshotData(String elementType, String elementId, String screenshotBase64,
+		public ElementScreenshotData(String elementType, String elementId, Future<ScreenshotStore.Handle> screenshot,
 				String highlightColor, int x, int y, int width, int height, Map<String, String> properties, String text,
 				int index) {
 			this.elementType = elementType;
 			this.elementId = elementId;
-			this.screenshotBase64 = screenshotBase64;
+			this.screenshot = screenshot;
 			this.highlightColor = highlightColor;
 			this.x = x;
 			this.y = y;
@@ -5918,6 +6489,21 @@ public class StyleGuide_ValidatorQA {
 			this.text = text;
 			this.index = index;
 		}
+
+		/**
+		 * The encoded image, once the pipeline has finished it; empty if it
+		 * failed
+		 */
+		byte[] image() {
+			try {
+				return screenshot.get().read();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				LOGGER.warning("Could not encode screenshot of " + elementId + ": " + e.getCause());
+			}
+			return new byte[0];
+		}
 	}
 
 	/**
@@ -5936,8 +6522,8 @@ public class StyleGuide_ValidatorQA {
 	@BeforeClass(alwaysRun = true)
 	public void setUpClass() {
 		LOGGER.info("TestNG Class Setup: Initializing test class");
-		websiteDataList = new ArrayList<>();
-		resolutionDataMap = new LinkedHashMap<>();
+		websiteDataList = Collections.synchronizedList(new ArrayList<>());
+		resolutionDataMap = Collections.synchronizedMap(new LinkedHashMap<>());
 	}
 
 	/**
@@ -5947,15 +6533,16 @@ public class StyleGuide_ValidatorQA {
 	public void tearDownClass() {
 		LOGGER.info("TestNG Class Teardown: Cleaning up resources");
 		if (driver != null) {
-			try {
-				driver.quit();
+			if (quitDriver(driver)) {
 				LOGGER.info("WebDriver closed successfully");
-			} catch (Exception e) {
-				LOGGER.warning("Error closing WebDriver: " + e.getMessage());
 			}
 			driver = null;
-			wait = null;
 		}
+		if (resolutionDriverPool != null) {
+			resolutionDriverPool.close();
+			resolutionDriverPool = null;
+		}
+		LinkStatusCache.get().saveSnapshot();
 	}
 
 	/**
@@ -5966,7 +6553,16 @@ public class StyleGuide_ValidatorQA {
 	public void testQAAuditForAllResolutions() throws Exception {
 		LOGGER.info("Starting TestNG test: QA Audit for all resolutions - URL: " + TEST_URL);
 
-		// Execute the QA audit for all enabled resolutions
+		// Execute the QA audit for all enabled resolutions, on every page of the site when crawling
+		if (CRAWL_SITE) {
+			List<String> pages = runSiteAudit(TEST_URL);
+			// Page data is released after each report, so only the counts remain
+			Assert.assertFalse(pages.isEmpty(), "Site audit should audit at least one page");
+			Assert.assertTrue(siteResolutionCount > 0, "Site audit should collect data for some resolution");
+			LOGGER.info("Test completed successfully. Data collected for " + siteResolutionCount
+					+ " resolution(s) on " + pages.size() + " page(s)");
+			return;
+		}
 		runQAAuditForAllResolutions(TEST_URL);
 
 		// TestNG Assertions: Verify that data was collected
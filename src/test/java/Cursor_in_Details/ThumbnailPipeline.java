@@ -0,0 +1,234 @@
+package Cursor_in_Details;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Turns element captures into small report images on a worker pool: the
+ * browser thread hands over the cropped capture (or a callable that decodes
+ * and crops it) and moves on to the next element, while a worker scales it
+ * down to THUMBNAIL_WIDTH, encodes it as JPEG or compact PNG and puts it in
+ * the ScreenshotStore. A capture that looks like one already stored with the
+ * same highlight colour (see NearDuplicateIndex) is not encoded again but
+ * shares the stored image; the look-alike test runs before the outline is
+ * drawn. The queue is bounded; when it is full the submitting thread encodes
+ * the image itself, which keeps memory in check.
+ */
+class ThumbnailPipeline {
+
+	private static final Logger LOGGER = Logger.getLogger(ThumbnailPipeline.class.getName());
+
+	// Image width in pixels (0 keeps the captured size), png or else jpeg, and
+	// the CSS pixels kept around the element; -Dqa.thumbnailWidth=N,
+	// -Dqa.thumbnailFormat=jpeg|png, -Dqa.thumbnailMargin=N
+	static final int THUMBNAIL_WIDTH = Integer.getInteger("qa.thumbnailWidth", 640);
+	static final String FORMAT = System.getProperty("qa.thumbnailFormat", "jpeg").toLowerCase();
+	static final int MARGIN = Integer.getInteger("qa.thumbnailMargin", 48);
+
+	// Encoding threads and captures that may wait for them; -Dqa.thumbnailWorkers=N,
+	// -Dqa.thumbnailQueue=N
+	static final int WORKERS = Integer.getInteger("qa.thumbnailWorkers",
+			Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+	static final int QUEUE_SIZE = Integer.getInteger("qa.thumbnailQueue", 32);
+
+	private static final float JPEG_QUALITY = 0.85f;
+
+	private static final ThumbnailPipeline INSTANCE = new ThumbnailPipeline();
+
+	private final ThreadPoolExecutor executor;
+	private final NearDuplicateIndex duplicates = new NearDuplicateIndex();
+	private final AtomicInteger images = new AtomicInteger();
+	private final AtomicLong pixelsIn = new AtomicLong();
+	private final AtomicLong bytesOut = new AtomicLong();
+	private final AtomicLong encodeNanos = new AtomicLong();
+
+	private ThumbnailPipeline() {
+		AtomicInteger threads = new AtomicInteger();
+		executor = new ThreadPoolExecutor(WORKERS, WORKERS, 30, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, QUEUE_SIZE)), r -> {
+					Thread thread = new Thread(r, "thumbnail-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		LOGGER.fine("Thumbnail pipeline: " + WORKERS + " worker(s), " + FORMAT + ", width " + THUMBNAIL_WIDTH);
+	}
+
+	static ThumbnailPipeline get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Highlight of an element capture: its colour and the outline to draw, in
+	 * pixels of the capture. The outline is null when the browser already
+	 * painted it into the capture.
+	 */
+	static final class Highlight {
+		final String color;
+		final Rectangle outline;
+		final int stroke;
+
+		Highlight(String color, Rectangle outline, int stroke) {
+			this.color = color;
+			this.outline = outline;
+			this.stroke = stroke;
+		}
+
+		static Highlight painted(String color) {
+			return new Highlight(color, null, 0);
+		}
+	}
+
+	/**
+	 * Scale and encode the capture in the background, with its highlight (or
+	 * null for none). The callable runs on the worker too, so decoding a full
+	 * screenshot does not hold up the browser.
+	 */
+	Future<ScreenshotStore.Handle> submit(Callable<BufferedImage> capture, Highlight highlight) {
+		return executor.submit(() -> {
+			BufferedImage image = capture.call();
+			if (image == null) {
+				return ScreenshotStore.EMPTY;
+			}
+			long start = System.nanoTime();
+			images.incrementAndGet();
+			pixelsIn.addAndGet((long) image.getWidth() * image.getHeight());
+			BufferedImage thumbnail = scale(image);
+			// Fingerprint before the outline is drawn; only images with the same
+			// outline colour may be shared, so the report shows the element's colour
+			NearDuplicateIndex.Fingerprint fingerprint = NearDuplicateIndex.fingerprint(thumbnail);
+			String group = highlight == null ? "" : highlight.color;
+			ScreenshotStore.Handle shared = duplicates.find(fingerprint, group);
+			if (shared != null) {
+				encodeNanos.addAndGet(System.nanoTime() - start);
+				return shared;
+			}
+			if (highlight != null && highlight.outline != null) {
+				drawOutline(thumbnail, highlight, (double) thumbnail.getWidth() / image.getWidth());
+			}
+			byte[] encoded = encode(thumbnail);
+			encodeNanos.addAndGet(System.nanoTime() - start);
+			bytesOut.addAndGet(encoded.length);
+			ScreenshotStore.Handle handle = ScreenshotStore.get().put(encoded);
+			duplicates.add(fingerprint, group, handle);
+			return handle;
+		});
+	}
+
+	/**
+	 * The element and MARGIN CSS pixels around it, cut from a viewport
+	 * screenshot. Bounds are CSS pixels relative to the viewport; the device
+	 * pixel ratio follows from the image and viewport widths.
+	 */
+	static BufferedImage crop(byte[] png, int viewportWidth, int x, int y, int width, int height)
+			throws IOException {
+		BufferedImage screenshot = ImageIO.read(new ByteArrayInputStream(png));
+		if (screenshot == null || viewportWidth <= 0) {
+			return screenshot;
+		}
+		double ratio = (double) screenshot.getWidth() / viewportWidth;
+		int left = clamp((int) Math.floor((x - MARGIN) * ratio), screenshot.getWidth());
+		int top = clamp((int) Math.floor((y - MARGIN) * ratio), screenshot.getHeight());
+		int right = clamp((int) Math.ceil((x + width + MARGIN) * ratio), screenshot.getWidth());
+		int bottom = clamp((int) Math.ceil((y + height + MARGIN) * ratio), screenshot.getHeight());
+		if (right - left < 1 || bottom - top < 1) {
+			// Element outside the screenshot: keep all of it
+			return screenshot;
+		}
+		return screenshot.getSubimage(left, top, right - left, bottom - top);
+	}
+
+	/**
+	 * "N image(s), X MP in, Y KB out, Z ms encoding, ..." for the log
+	 */
+	String summary() {
+		return images.get() + " image(s), " + pixelsIn.get() / 1_000_000 + " MP in, " + bytesOut.get() / 1024
+				+ " KB out, " + TimeUnit.NANOSECONDS.toMillis(encodeNanos.get()) + " ms encoding on "
+				+ WORKERS + " worker(s), " + duplicates.summary();
+	}
+
+	/**
+	 * Down to THUMBNAIL_WIDTH in halving steps (plain bilinear scaling drops
+	 * thin text strokes), always into an opaque RGB image so JPEG can take it
+	 */
+	private static BufferedImage scale(BufferedImage image) {
+		int targetWidth = THUMBNAIL_WIDTH > 0 ? Math.min(THUMBNAIL_WIDTH, image.getWidth()) : image.getWidth();
+		BufferedImage current = image;
+		do {
+			int width = Math.max(targetWidth, current.getWidth() / 2);
+			int height = Math.max(1, (int) Math.round((double) current.getHeight() * width / current.getWidth()));
+			BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = next.createGraphics();
+			try {
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				g.drawImage(current, 0, 0, width, height, null);
+			} finally {
+				g.dispose();
+			}
+			current = next;
+		} while (current.getWidth() > targetWidth);
+		return current;
+	}
+
+	/**
+	 * Draw the highlight outline on the scaled image; factor is the scaled
+	 * width over the captured width
+	 */
+	private static void drawOutline(BufferedImage image, Highlight highlight, double factor) {
+		Rectangle outline = highlight.outline;
+		Graphics2D g = image.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.setColor(Color.decode(highlight.color));
+			g.setStroke(new BasicStroke((float) Math.max(1.0, highlight.stroke * factor)));
+			g.drawRect((int) Math.round(outline.x * factor), (int) Math.round(outline.y * factor),
+					(int) Math.round(outline.width * factor), (int) Math.round(outline.height * factor));
+		} finally {
+			g.dispose();
+		}
+	}
+
+	private static byte[] encode(BufferedImage image) throws IOException {
+		boolean png = FORMAT.equals("png");
+		ImageWriter writer = ImageIO.getImageWritersByFormatName(png ? "png" : "jpeg").next();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed()) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				// JPEG: quality; PNG: 0 is the strongest (still lossless) deflate level
+				param.setCompressionQuality(png ? 0.0f : JPEG_QUALITY);
+			}
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	private static int clamp(int value, int max) {
+		return Math.max(0, Math.min(value, max));
+	}
+}
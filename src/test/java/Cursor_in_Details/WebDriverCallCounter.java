@@ -0,0 +1,95 @@
+package Cursor_in_Details;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the WebDriver commands sent by one browser session (driver, element,
+ * navigation, window and timeout calls). Used to show in the report how many
+ * round trips each stage of a resolution audit cost.
+ */
+class WebDriverCallCounter implements WebDriverListener {
+
+	// Accessors that only hand out a local helper object and never reach the browser
+	private static final Set<String> LOCAL_METHODS = new HashSet<>(
+			Arrays.asList("manage", "navigate", "switchTo", "window", "timeouts", "getWrappedDriver",
+					"getWrappedElement", "equals", "hashCode", "toString"));
+
+	private static final Map<WebDriver, WebDriverCallCounter> COUNTERS = Collections
+			.synchronizedMap(new IdentityHashMap<>());
+
+	private final AtomicLong calls = new AtomicLong();
+
+	/**
+	 * Wrap the driver so every command it sends is counted. Use the returned
+	 * driver everywhere instead of the original one.
+	 */
+	static WebDriver attach(WebDriver driver) {
+		WebDriverCallCounter counter = new WebDriverCallCounter();
+		WebDriver decorated = new EventFiringDecorator<>(counter).decorate(driver);
+		COUNTERS.put(decorated, counter);
+		return decorated;
+	}
+
+	/**
+	 * Commands sent so far by the given (attached) driver, 0 if it is not counted
+	 */
+	static long count(WebDriver driver) {
+		WebDriverCallCounter counter = COUNTERS.get(driver);
+		return counter != null ? counter.calls.get() : 0;
+	}
+
+	/**
+	 * Forget the counter of a driver that has been quit
+	 */
+	static void detach(WebDriver driver) {
+		COUNTERS.remove(driver);
+	}
+
+	private void record(Method method) {
+		if (!LOCAL_METHODS.contains(method.getName())) {
+			calls.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void beforeAnyWebDriverCall(WebDriver driver, Method method, Object[] args) {
+		record(method);
+	}
+
+	@Override
+	public void beforeAnyWebElementCall(WebElement element, Method method, Object[] args) {
+		record(method);
+	}
+
+	@Override
+	public void beforeAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args) {
+		record(method);
+	}
+
+	@Override
+	public void beforeAnyWindowCall(WebDriver.Window window, Method method, Object[] args) {
+		record(method);
+	}
+
+	@Override
+	public void beforeAnyTimeoutsCall(WebDriver.Timeouts timeouts, Method method, Object[] args) {
+		record(method);
+	}
+
+	@Override
+	public void beforeAnyTargetLocatorCall(WebDriver.TargetLocator targetLocator, Method method, Object[] args) {
+		record(method);
+	}
+}
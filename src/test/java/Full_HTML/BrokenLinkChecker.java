@@ -7,13 +7,16 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+
+import Cursor_in_Details.SiteCrawler;
+
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -23,7 +26,7 @@ public class BrokenLinkChecker {
 
 	
 	private static WebDriver driver;
-    private static Set<String> visitedUrls = new HashSet<>();
+    private static Set<String> checkedUrls = ConcurrentHashMap.newKeySet();
     private static List<String> brokenLinks = new ArrayList<>();
     private static List<String> validLinks = new ArrayList<>();
     private static final int THREAD_POOL_SIZE = 10;
@@ -59,10 +62,13 @@ public class BrokenLinkChecker {
     }
 
     private static void crawlWebsite(String startUrl) {
-        if (!visitedUrls.contains(startUrl)) {
-            visitedUrls.add(startUrl);
-            driver.get(startUrl);
-            System.out.println("Crawling: " + startUrl);
+        // One browser, so one crawl worker; the link checks run on a shared pool.
+        // Like before, every linked page of the site is crawled: no depth, page
+        // or delay limits, and no checkpoint, since the results live only in memory
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+        SiteCrawler crawler = new SiteCrawler(startUrl, 1, SiteCrawler.Limits.UNLIMITED, (pageUrl, depth) -> {
+            driver.get(pageUrl);
+            System.out.println("Crawling: " + pageUrl);
 
             List<WebElement> links = driver.findElements(By.tagName("a"));
             List<String> urlsToCheck = new ArrayList<>();
@@ -74,23 +80,24 @@ public class BrokenLinkChecker {
                 }
             }
 
-            ExecutorService executor = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
             for (String url : urlsToCheck) {
-                executor.submit(() -> checkLink(url));
+                // Header and footer links repeat on every page - check each URL once
+                if (checkedUrls.add(url)) {
+                    executor.submit(() -> checkLink(url));
+                }
             }
+            return new SiteCrawler.PageResult(urlsToCheck, null);
+        });
 
+        try {
+            crawler.crawl();
             executor.shutdown();
-            try {
-                executor.awaitTermination(60, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                System.err.println("Executor interrupted: " + e.getMessage());
-            }
-
-            for (String url : urlsToCheck) {
-                if (url.startsWith(BASE_DOMAIN) && !visitedUrls.contains(url)) {
-                    crawlWebsite(url);
-                }
-            }
+            executor.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            System.err.println("Crawl interrupted: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
         }
     }
 